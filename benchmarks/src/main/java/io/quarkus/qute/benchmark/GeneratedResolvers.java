@@ -0,0 +1,75 @@
+package io.quarkus.qute.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.Index;
+import org.jboss.jandex.Indexer;
+
+import io.quarkus.qute.ValueResolver;
+import io.quarkus.qute.generator.ValueResolverGenerator;
+
+/**
+ * Generates the value resolvers for the given data classes at runtime.
+ */
+final class GeneratedResolvers {
+
+    private GeneratedResolvers() {
+    }
+
+    static List<ValueResolver> generate(Class<?>... classes) {
+        Indexer indexer = new Indexer();
+        for (Class<?> clazz : classes) {
+            try (InputStream stream = GeneratedResolvers.class.getClassLoader()
+                    .getResourceAsStream(clazz.getName().replace('.', '/') + ".class")) {
+                indexer.index(stream);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        Index index = indexer.complete();
+        Map<String, byte[]> generatedClasses = new HashMap<>();
+        ValueResolverGenerator generator = ValueResolverGenerator.builder().setIndex(index)
+                .setClassOutput(generatedClasses::put).build();
+        for (Class<?> clazz : classes) {
+            generator.generate(index.getClassByName(DotName.createSimple(clazz.getName())));
+        }
+        GeneratedClassLoader classLoader = new GeneratedClassLoader(generatedClasses,
+                GeneratedResolvers.class.getClassLoader());
+        List<ValueResolver> resolvers = new ArrayList<>();
+        for (String type : generator.getGeneratedTypes()) {
+            try {
+                resolvers.add((ValueResolver) classLoader.loadClass(type).newInstance());
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return resolvers;
+    }
+
+    static class GeneratedClassLoader extends ClassLoader {
+
+        private final Map<String, byte[]> classes;
+
+        GeneratedClassLoader(Map<String, byte[]> classes, ClassLoader parent) {
+            super(parent);
+            this.classes = classes;
+        }
+
+        @Override
+        protected Class<?> findClass(String name) throws ClassNotFoundException {
+            byte[] data = classes.get(name.replace('.', '/'));
+            if (data == null) {
+                throw new ClassNotFoundException(name);
+            }
+            return defineClass(name, data, 0, data.length);
+        }
+
+    }
+
+}
@@ -0,0 +1,57 @@
+package io.quarkus.qute.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.quarkus.qute.Engine;
+import io.quarkus.qute.Template;
+
+/**
+ * Chains of {@code if} sections with operators.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IfBenchmark {
+
+    private Template template;
+    private List<Integer> values;
+
+    @Setup
+    public void setup() {
+        template = Engine.builder().addDefaultSectionHelpers().addDefaultValueResolvers().build()
+                .parse("{#for val in values}"
+                        + "{#if val > 90}A"
+                        + "{:else if val >= 70}B"
+                        + "{:else if val > 50}C"
+                        + "{:else if val == 42}D"
+                        + "{:else if val != 0}E"
+                        + "{:else}F{/if}"
+                        + "{/for}");
+        values = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            values.add(i);
+        }
+    }
+
+    @Benchmark
+    public String render() {
+        return template.render().putData("values", values).getResult();
+    }
+
+}
@@ -0,0 +1,59 @@
+package io.quarkus.qute.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.quarkus.qute.Engine;
+import io.quarkus.qute.Template;
+
+/**
+ * Template inheritance with the given depth, i.e. each level includes the previous one and defines a block that is
+ * inserted there.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IncludeBenchmark {
+
+    @Param({ "1", "5", "10" })
+    public int depth;
+
+    private Template template;
+
+    @Setup
+    public void setup() {
+        Engine engine = Engine.builder().addDefaultSectionHelpers().addDefaultValueResolvers().build();
+        engine.putTemplate("level0", engine.parse("<html><body>{#insert block0}default{/insert}</body></html>"));
+        for (int i = 1; i <= depth; i++) {
+            String content = "{#include level" + (i - 1) + "}"
+                    + "{:block" + (i - 1) + "}<div>{title} " + i + " {#insert block" + i + "}default{/insert}</div>"
+                    + "{/block" + (i - 1) + "}"
+                    + "{/include}";
+            if (i == depth) {
+                template = engine.parse(content);
+            } else {
+                engine.putTemplate("level" + i, engine.parse(content));
+            }
+        }
+    }
+
+    @Benchmark
+    public String render() {
+        return template.render().putData("title", "Level").getResult();
+    }
+
+}
@@ -0,0 +1,33 @@
+package io.quarkus.qute.benchmark;
+
+import java.math.BigDecimal;
+
+public class Item {
+
+    private final String name;
+    private final BigDecimal price;
+    private final boolean active;
+
+    public Item(String name, BigDecimal price, boolean active) {
+        this.name = name;
+        this.price = price;
+        this.active = active;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    static Item create(int index) {
+        return new Item("Item " + index, new BigDecimal(index % 100 + 1), index % 3 != 0);
+    }
+
+}
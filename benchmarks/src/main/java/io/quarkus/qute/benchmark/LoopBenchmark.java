@@ -0,0 +1,56 @@
+package io.quarkus.qute.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.quarkus.qute.Engine;
+import io.quarkus.qute.ReflectionValueResolver;
+import io.quarkus.qute.Template;
+
+/**
+ * Iteration over a list of items.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoopBenchmark {
+
+    @Param({ "10", "1000", "100000" })
+    public int size;
+
+    private Template template;
+    private List<Item> items;
+
+    @Setup
+    public void setup() {
+        template = Engine.builder().addDefaultSectionHelpers().addDefaultValueResolvers()
+                .addValueResolver(new ReflectionValueResolver()).build()
+                .parse("{#for item in items}{count}. {item.name}: {item.price}{#if hasNext}, {/if}{/for}");
+        items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            items.add(Item.create(i));
+        }
+    }
+
+    @Benchmark
+    public String render() {
+        return template.render().putData("items", items).getResult();
+    }
+
+}
@@ -0,0 +1,103 @@
+package io.quarkus.qute.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.quarkus.qute.Engine;
+import io.quarkus.qute.Template;
+
+/**
+ * Parsing of a small template, a large template and a multi-megabyte report template that consists mostly of static text.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParserBenchmark {
+
+    static final String SMALL = "<html>\n"
+            + "<head><title>{title}</title></head>\n"
+            + "<body>\n"
+            + "{! A comment !}\n"
+            + "<h1>{title}</h1>\n"
+            + "{#if items.isEmpty}No items{:else}\n"
+            + "<ul>\n"
+            + "{#for item in items}\n"
+            + "  <li class=\"{#if item.active}active{:else}inactive{/if}\">{item.name}: {item.price}</li>\n"
+            + "{/for}\n"
+            + "</ul>\n"
+            + "{/if}\n"
+            + "</body>\n"
+            + "</html>";
+
+    @Param({ "small", "large", "report" })
+    public String size;
+
+    private Engine engine;
+    private String content;
+
+    @Setup
+    public void setup() {
+        engine = Engine.builder().addDefaultSectionHelpers().addDefaultValueResolvers().build();
+        if ("large".equals(size)) {
+            content = largeTemplate(1000);
+        } else if ("report".equals(size)) {
+            content = reportTemplate(20000);
+        } else {
+            content = SMALL;
+        }
+    }
+
+    @Benchmark
+    public Template parse() {
+        return engine.parse(content);
+    }
+
+    static String reportTemplate(int rows) {
+        StringBuilder builder = new StringBuilder();
+        builder.append("<html>\n<head><title>{title}</title></head>\n<body>\n<table>\n");
+        for (int i = 0; i < rows; i++) {
+            builder.append("<tr class=\"row\"><td class=\"id\">").append(i)
+                    .append("</td><td class=\"description\">Generated report row with a fairly long static description "
+                            + "that does not contain any expressions at all</td><td class=\"value\">")
+                    .append(i * 31).append("</td></tr>\r\n");
+            if (i % 100 == 0) {
+                builder.append("<tr><td colspan=\"3\">{title} - page {pages.get(").append(i / 100).append(")}</td></tr>\n");
+            }
+        }
+        builder.append("</table>\n</body>\n</html>");
+        return builder.toString();
+    }
+
+    static String largeTemplate(int sections) {
+        StringBuilder builder = new StringBuilder();
+        builder.append("<html>\n<head><title>{title}</title></head>\n<body>\n");
+        for (int i = 0; i < sections; i++) {
+            builder.append("<div id=\"section").append(i).append("\">\n");
+            builder.append("  <h2>{title} - section ").append(i).append("</h2>\n");
+            builder.append("  <p>Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed do eiusmod tempor incididunt ut "
+                    + "labore et dolore magna aliqua. {! A comment !}</p>\n");
+            builder.append("  {#for item in items}\n");
+            builder.append(
+                    "    <span class=\"{#if item.active}active{:else}inactive{/if}\">{item.name} {item.price}</span>\n");
+            builder.append("  {/for}\n");
+            builder.append("</div>\n");
+        }
+        builder.append("</body>\n</html>");
+        return builder.toString();
+    }
+
+}
@@ -0,0 +1,52 @@
+package io.quarkus.qute.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.quarkus.qute.Engine;
+import io.quarkus.qute.ReflectionValueResolver;
+import io.quarkus.qute.ReflectionValueResolver.AccessStrategy;
+import io.quarkus.qute.Template;
+
+/**
+ * Evaluation of expressions using the reflection-based resolver with different member access strategies.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReflectionBenchmark {
+
+    @Param({ "REFLECTION", "METHOD_HANDLE", "LAMBDA" })
+    public AccessStrategy strategy;
+
+    private Template template;
+    private Item item;
+
+    @Setup
+    public void setup() {
+        template = Engine.builder().addDefaultSectionHelpers().addDefaultValueResolvers()
+                .addValueResolver(new ReflectionValueResolver(strategy)).build()
+                .parse("{item.name} {item.price} {item.active} {item.isActive} {item.getName}");
+        item = Item.create(1);
+    }
+
+    @Benchmark
+    public String render() {
+        return template.render().putData("item", item).getResult();
+    }
+
+}
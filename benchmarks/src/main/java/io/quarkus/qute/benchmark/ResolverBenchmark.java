@@ -0,0 +1,57 @@
+package io.quarkus.qute.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.quarkus.qute.Engine;
+import io.quarkus.qute.EngineBuilder;
+import io.quarkus.qute.ReflectionValueResolver;
+import io.quarkus.qute.Template;
+
+/**
+ * Evaluation of expressions using the reflection-based resolver and the generated resolvers.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResolverBenchmark {
+
+    @Param({ "reflection", "generated" })
+    public String resolver;
+
+    private Template template;
+    private Item item;
+
+    @Setup
+    public void setup() {
+        EngineBuilder builder = Engine.builder().addDefaultSectionHelpers().addDefaultValueResolvers();
+        if ("generated".equals(resolver)) {
+            GeneratedResolvers.generate(Item.class).forEach(builder::addValueResolver);
+        } else {
+            builder.addValueResolver(new ReflectionValueResolver());
+        }
+        template = builder.build()
+                .parse("{item.name} {item.price} {item.active} {item.isActive} {item.getName}");
+        item = Item.create(1);
+    }
+
+    @Benchmark
+    public String render() {
+        return template.render().putData("item", item).getResult();
+    }
+
+}
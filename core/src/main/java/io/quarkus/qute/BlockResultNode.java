@@ -0,0 +1,82 @@
+package io.quarkus.qute;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Results of a block some of which may not be resolved yet.
+ * 
+ * @see #of(CompletableFuture[], boolean)
+ */
+final class BlockResultNode implements PendingResultNode {
+
+    private final CompletableFuture<ResultNode>[] results;
+    private final AtomicBoolean flushed;
+
+    private BlockResultNode(CompletableFuture<ResultNode>[] results) {
+        this.results = results;
+        this.flushed = new AtomicBoolean();
+    }
+
+    /**
+     * 
+     * @param results
+     * @param pending If set to {@code true} then the returned stage may be completed before all the results are resolved
+     * @return the completion stage completed with the result node
+     */
+    static CompletionStage<ResultNode> of(CompletableFuture<ResultNode>[] results, boolean pending) {
+        boolean resolved = true;
+        for (CompletableFuture<ResultNode> result : results) {
+            if (!Futures.isCompleted(result) || result.join() instanceof PendingResultNode) {
+                resolved = false;
+                break;
+            }
+        }
+        if (resolved) {
+            // Sync fast path - all the results are already available
+            return CompletableFuture.completedFuture(new MultiResultNode(results));
+        }
+        BlockResultNode node = new BlockResultNode(results);
+        return pending ? CompletableFuture.completedFuture(node) : node.resolved();
+    }
+
+    /**
+     * Note that the results are released once flushed, i.e. the node can be only flushed once.
+     */
+    @Override
+    public CompletionStage<Void> flush(Consumer<String> consumer) {
+        if (!flushed.compareAndSet(false, true)) {
+            return Futures.failure(new IllegalStateException("Results already flushed"));
+        }
+        return PendingResultNode.flush(results, consumer);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public CompletionStage<ResultNode> resolved() {
+        if (flushed.get()) {
+            return Futures.failure(new IllegalStateException("Results already flushed"));
+        }
+        CompletableFuture<ResultNode>[] resolved = new CompletableFuture[results.length];
+        for (int i = 0; i < results.length; i++) {
+            resolved[i] = results[i].thenCompose(PendingResultNode::resolve).toCompletableFuture();
+        }
+        CompletableFuture<ResultNode> result = new CompletableFuture<>();
+        CompletableFuture.allOf(resolved).whenComplete((v, t) -> {
+            if (t != null) {
+                result.completeExceptionally(t);
+            } else {
+                result.complete(new MultiResultNode(resolved));
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public void process(Consumer<String> consumer) {
+        throw new IllegalStateException("Results not resolved yet");
+    }
+
+}
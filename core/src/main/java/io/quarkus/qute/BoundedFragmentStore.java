@@ -0,0 +1,106 @@
+package io.quarkus.qute;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * LRU store with per-entry time-to-live. A fragment is only rendered once for concurrent requests.
+ *
+ * @see FragmentStore#bounded(int)
+ */
+class BoundedFragmentStore implements FragmentStore {
+
+    private final int maximumSize;
+    private final LongSupplier ticker;
+
+    // Guarded by this
+    // Access-ordered, i.e. the eldest entry is the least recently used
+    private final LinkedHashMap<String, StoreEntry> entries;
+
+    BoundedFragmentStore(int maximumSize, LongSupplier ticker) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("Maximum size must be positive: " + maximumSize);
+        }
+        this.maximumSize = maximumSize;
+        this.ticker = ticker;
+        this.entries = new LinkedHashMap<String, StoreEntry>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StoreEntry> eldest) {
+                return size() > BoundedFragmentStore.this.maximumSize;
+            }
+        };
+    }
+
+    @Override
+    public CompletionStage<String> get(String key, long ttl, Supplier<CompletionStage<String>> loader) {
+        StoreEntry entry;
+        synchronized (this) {
+            StoreEntry existing = entries.get(key);
+            // A fragment that is being rendered never expires
+            if (existing != null && (!existing.fragment.isDone() || !isExpired(existing))) {
+                return existing.fragment;
+            }
+            entry = new StoreEntry(
+                    ttl == Long.MAX_VALUE ? Long.MAX_VALUE : ticker.getAsLong() + TimeUnit.MILLISECONDS.toNanos(ttl));
+            entries.put(key, entry);
+        }
+        // Render the fragment outside the lock
+        CompletionStage<String> loaded;
+        try {
+            loaded = loader.get();
+        } catch (Throwable e) {
+            loaded = Futures.failure(e);
+        }
+        loaded.whenComplete((fragment, failure) -> {
+            if (failure != null) {
+                // Do not store failures
+                synchronized (this) {
+                    entries.remove(key, entry);
+                }
+                entry.fragment.completeExceptionally(failure);
+            } else {
+                entry.fragment.complete(fragment);
+            }
+        });
+        return entry.fragment;
+    }
+
+    @Override
+    public synchronized void invalidate(String key) {
+        entries.remove(key);
+    }
+
+    @Override
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private boolean isExpired(StoreEntry entry) {
+        return entry.expiresAt != Long.MAX_VALUE && ticker.getAsLong() - entry.expiresAt >= 0;
+    }
+
+    static final class StoreEntry {
+
+        final CompletableFuture<String> fragment;
+        final long expiresAt;
+
+        StoreEntry(long expiresAt) {
+            this.fragment = new CompletableFuture<>();
+            this.expiresAt = expiresAt;
+        }
+
+    }
+
+}
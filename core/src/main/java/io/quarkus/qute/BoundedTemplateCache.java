@@ -0,0 +1,196 @@
+package io.quarkus.qute;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * LRU cache with optional weight limit and time-to-live.
+ * <p>
+ * Reads are lock-free. Each entry holds an access stamp that is only updated if the entry is not the most recently used
+ * one already. The least recently used entries are found when the weight limit is exceeded, i.e. when a template is
+ * added.
+ *
+ * @see TemplateCache#builder()
+ */
+class BoundedTemplateCache implements TemplateCache {
+
+    private final long maximumWeight;
+    private final ToLongFunction<Template> weigher;
+    private final long ttlNanos;
+    private final Predicate<String> pinned;
+    private final LongSupplier ticker;
+
+    private final ConcurrentMap<String, CacheEntry> entries;
+    private final Set<String> pinnedIds;
+    // The stamp of the most recently used entry
+    private final AtomicLong clock;
+    // The weight of an entry is subtracted by the thread that removes the entry from the map
+    private final AtomicLong weight;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+
+    BoundedTemplateCache(long maximumWeight, ToLongFunction<Template> weigher, long ttlNanos, Predicate<String> pinned,
+            LongSupplier ticker) {
+        this.maximumWeight = maximumWeight;
+        this.weigher = weigher;
+        this.ttlNanos = ttlNanos;
+        this.pinned = pinned;
+        this.ticker = ticker;
+        this.entries = new ConcurrentHashMap<>();
+        this.pinnedIds = ConcurrentHashMap.newKeySet();
+        this.clock = new AtomicLong();
+        this.weight = new AtomicLong();
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.evictions = new LongAdder();
+    }
+
+    @Override
+    public Template get(String id) {
+        CacheEntry entry = entries.get(id);
+        if (entry != null) {
+            if (!isExpired(id, entry)) {
+                hits.increment();
+                if (entry.accessed != clock.get()) {
+                    // Not the most recently used entry
+                    entry.accessed = clock.incrementAndGet();
+                }
+                return entry.template;
+            }
+            if (remove(id, entry)) {
+                evictions.increment();
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    @Override
+    public boolean contains(String id) {
+        CacheEntry entry = entries.get(id);
+        return entry != null && !isExpired(id, entry);
+    }
+
+    @Override
+    public synchronized Template put(String id, Template template) {
+        long entryWeight = isPinned(id) ? 0 : weigher.applyAsLong(template);
+        CacheEntry previous = entries.put(id,
+                new CacheEntry(template, entryWeight, ticker.getAsLong(), clock.incrementAndGet()));
+        if (previous != null) {
+            weight.addAndGet(-previous.weight);
+        }
+        if (weight.addAndGet(entryWeight) > maximumWeight) {
+            evict();
+        }
+        return previous != null ? previous.template : null;
+    }
+
+    @Override
+    public synchronized void clear() {
+        removeIf(id -> true);
+    }
+
+    @Override
+    public synchronized void removeIf(Predicate<String> test) {
+        for (Entry<String, CacheEntry> entry : entries.entrySet()) {
+            if (test.test(entry.getKey())) {
+                remove(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    @Override
+    public synchronized void pin(String id) {
+        pinnedIds.add(id);
+        CacheEntry entry = entries.get(id);
+        if (entry != null && entry.weight > 0
+                && entries.replace(id, entry, new CacheEntry(entry.template, 0, entry.created, entry.accessed))) {
+            // Pinned entries do not count
+            weight.addAndGet(-entry.weight);
+        }
+    }
+
+    @Override
+    public Stats getStats() {
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), entries.size(), weight.get());
+    }
+
+    private boolean isPinned(String id) {
+        return pinnedIds.contains(id) || pinned.test(id);
+    }
+
+    private boolean isExpired(String id, CacheEntry entry) {
+        // Pinned entries never expire
+        return ttlNanos > 0 && ticker.getAsLong() - entry.created > ttlNanos && !isPinned(id);
+    }
+
+    private boolean remove(String id, CacheEntry entry) {
+        if (entries.remove(id, entry)) {
+            weight.addAndGet(-entry.weight);
+            return true;
+        }
+        return false;
+    }
+
+    private void evict() {
+        List<Candidate> candidates = new ArrayList<>();
+        for (Entry<String, CacheEntry> entry : entries.entrySet()) {
+            if (entry.getValue().weight > 0) {
+                candidates.add(new Candidate(entry.getKey(), entry.getValue()));
+            }
+        }
+        // The least recently used first
+        candidates.sort(Comparator.comparingLong(c -> c.accessed));
+        for (Candidate candidate : candidates) {
+            if (weight.get() <= maximumWeight) {
+                break;
+            }
+            if (remove(candidate.id, candidate.entry)) {
+                evictions.increment();
+            }
+        }
+    }
+
+    static final class CacheEntry {
+
+        final Template template;
+        final long weight;
+        final long created;
+        volatile long accessed;
+
+        CacheEntry(Template template, long weight, long created, long accessed) {
+            this.template = template;
+            this.weight = weight;
+            this.created = created;
+            this.accessed = accessed;
+        }
+
+    }
+
+    static final class Candidate {
+
+        final String id;
+        final CacheEntry entry;
+        // The stamp must not change while sorting
+        final long accessed;
+
+        Candidate(String id, CacheEntry entry) {
+            this.id = id;
+            this.entry = entry;
+            this.accessed = entry.accessed;
+        }
+
+    }
+
+}
@@ -0,0 +1,53 @@
+package io.quarkus.qute;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Result consumer that writes UTF-8 encoded chunks. Static text is pre-encoded and written directly via
+ * {@link #write(byte[])}, i.e. no string is encoded twice.
+ *
+ * @see TextNode
+ */
+abstract class ByteSink implements Consumer<String> {
+
+    static ByteSink of(OutputStream out) {
+        return new ByteSink() {
+
+            @Override
+            void write(byte[] bytes) {
+                try {
+                    out.write(bytes);
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        };
+    }
+
+    static ByteSink of(Consumer<ByteBuffer> consumer) {
+        return new ByteSink() {
+
+            @Override
+            void write(byte[] bytes) {
+                // The array is never modified so that we can avoid copying
+                consumer.accept(ByteBuffer.wrap(bytes).asReadOnlyBuffer());
+            }
+        };
+    }
+
+    @Override
+    public void accept(String value) {
+        write(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     *
+     * @param bytes UTF-8 encoded chunk, must not be modified
+     */
+    abstract void write(byte[] bytes);
+
+}
@@ -0,0 +1,194 @@
+package io.quarkus.qute;
+
+import static io.quarkus.qute.Futures.evaluateParams;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.quarkus.qute.TemplateNode.Origin;
+
+/**
+ * Basic {@code cached} statement. The rendered output of the main block is stored and reused until it expires, e.g.
+ * {@code {#cached key='nav' ttl=10m}...{/cached}}.
+ * <p>
+ * The {@code key} param and all other params except for {@code ttl} and {@code shared} are evaluated and form the key of
+ * the fragment, e.g. {@code {#cached key='nav' user=user.id}}. By default, the fragment is only reused by the same section
+ * of the same parsed template, i.e. the key is prefixed with the section identity. If {@code shared=true} is set then the
+ * fragment is shared by all {@code cached} sections with the same key and the same store, e.g. in different templates.
+ * <p>
+ * The {@code ttl} param is a number of milliseconds or a number with one of the suffixes {@code ms}, {@code s}, {@code m},
+ * {@code h} and {@code d}. If not set then the fragment only expires when evicted from the store. All the fragments are
+ * removed when {@link Engine#clearTemplates()} is called.
+ *
+ * @see FragmentStore
+ */
+public class CachedSectionHelper implements SectionHelper {
+
+    private static final String CACHED = "cached";
+    private static final String KEY = "key";
+    private static final String TTL = "ttl";
+    private static final String SHARED = "shared";
+
+    private final Map<String, Expression> keyParams;
+    private final long ttl;
+    private final FragmentStore store;
+    // Null if the fragment is shared
+    private final String sectionId;
+
+    CachedSectionHelper(Map<String, Expression> keyParams, long ttl, FragmentStore store, String sectionId) {
+        this.keyParams = keyParams;
+        this.ttl = ttl;
+        this.store = store;
+        this.sectionId = sectionId;
+    }
+
+    @Override
+    public CompletionStage<ResultNode> resolve(SectionResolutionContext context) {
+        return evaluateParams(keyParams, context.resolutionContext())
+                .thenCompose(params -> store.get(getKey(params), ttl, () -> render(context)))
+                .thenApply(fragment -> (ResultNode) consumer -> consumer.accept(fragment));
+    }
+
+    private CompletionStage<String> render(SectionResolutionContext context) {
+        return context.execute().thenApply(node -> {
+            StringBuilder builder = new StringBuilder();
+            node.process(builder::append);
+            return builder.toString();
+        });
+    }
+
+    private String getKey(Map<String, Object> params) {
+        StringBuilder key = new StringBuilder();
+        if (sectionId != null) {
+            key.append(sectionId).append('|');
+        }
+        key.append(params.get(KEY));
+        if (params.size() > 1) {
+            // Sort the params so that the key does not depend on the order of params
+            for (Entry<String, Object> entry : new TreeMap<>(params).entrySet()) {
+                if (!entry.getKey().equals(KEY)) {
+                    key.append(';').append(entry.getKey()).append('=').append(entry.getValue());
+                }
+            }
+        }
+        return key.toString();
+    }
+
+    public static class Factory implements SectionHelperFactory<CachedSectionHelper> {
+
+        static final int DEFAULT_MAXIMUM_SIZE = 1000;
+
+        // Used to make the section identity unique
+        private static final AtomicLong SECTION_SEQUENCE = new AtomicLong();
+
+        private final FragmentStore store;
+
+        /**
+         * The fragments are stored in a bounded in-memory store.
+         *
+         * @see FragmentStore#bounded(int)
+         */
+        public Factory() {
+            this(FragmentStore.bounded(DEFAULT_MAXIMUM_SIZE));
+        }
+
+        /**
+         *
+         * @param store
+         */
+        public Factory(FragmentStore store) {
+            this.store = store;
+        }
+
+        /**
+         *
+         * @return the store used by the sections created by this factory
+         */
+        public FragmentStore getStore() {
+            return store;
+        }
+
+        @Override
+        public List<String> getDefaultAliases() {
+            return ImmutableList.of(CACHED);
+        }
+
+        @Override
+        public ParametersInfo getParameters() {
+            return ParametersInfo.builder().addParameter(KEY).build();
+        }
+
+        @Override
+        public CachedSectionHelper initialize(SectionInitContext context) {
+            Map<String, Expression> keyParams = new TreeMap<>();
+            for (String name : context.getParameters().keySet()) {
+                if (!TTL.equals(name) && !SHARED.equals(name)) {
+                    keyParams.put(name, context.getExpression(name));
+                }
+            }
+            String sectionId = null;
+            if (!Boolean.parseBoolean(context.getParameter(SHARED))) {
+                Origin origin = context.getExpression(KEY).origin;
+                sectionId = origin != null ? origin.getTemplateId() + ":" + origin.getLine() : "";
+                sectionId += "#" + SECTION_SEQUENCE.incrementAndGet();
+            }
+            return new CachedSectionHelper(keyParams, getTtl(context.getParameter(TTL)), store, sectionId);
+        }
+
+        @Override
+        public Map<String, String> initializeBlock(Map<String, String> outerNameTypeInfos, BlockInfo block) {
+            if (block.getLabel().equals(MAIN_BLOCK_NAME)) {
+                if (!block.hasParameter(KEY)) {
+                    throw new IllegalStateException("Key param must be present");
+                }
+                for (Entry<String, String> entry : block.getParameters().entrySet()) {
+                    if (!TTL.equals(entry.getKey()) && !SHARED.equals(entry.getKey())) {
+                        block.addExpression(entry.getKey(), entry.getValue());
+                    }
+                }
+            }
+            // Cached section never changes the scope
+            return Collections.emptyMap();
+        }
+
+        static long getTtl(String value) {
+            if (value == null) {
+                return Long.MAX_VALUE;
+            }
+            TimeUnit unit = TimeUnit.MILLISECONDS;
+            String amount = value;
+            if (value.endsWith("ms")) {
+                amount = value.substring(0, value.length() - 2);
+            } else if (value.endsWith("s")) {
+                unit = TimeUnit.SECONDS;
+            } else if (value.endsWith("m")) {
+                unit = TimeUnit.MINUTES;
+            } else if (value.endsWith("h")) {
+                unit = TimeUnit.HOURS;
+            } else if (value.endsWith("d")) {
+                unit = TimeUnit.DAYS;
+            }
+            if (unit != TimeUnit.MILLISECONDS) {
+                amount = value.substring(0, value.length() - 1);
+            }
+            long result;
+            try {
+                result = Long.parseLong(amount);
+            } catch (NumberFormatException e) {
+                result = -1;
+            }
+            if (result < 1) {
+                throw new IllegalStateException("Invalid cached section ttl - a positive duration expected: " + value);
+            }
+            return unit.toMillis(result);
+        }
+
+    }
+
+}
@@ -2,6 +2,8 @@ package io.quarkus.qute;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Predicate;
 
 /**
@@ -15,6 +17,43 @@ public interface Engine {
 
     public Template parse(String content);
 
+    /**
+     * The default implementation ignores the id and delegates to {@link #parse(String)}.
+     * 
+     * @param content
+     * @param id The id the template will be registered under, may be {@code null}
+     * @return the template
+     * @see EngineBuilder#compactText(Predicate)
+     */
+    public default Template parse(String content, String id) {
+        return parse(content);
+    }
+
+    /**
+     * Builds the template from the tokens, i.e. the contents of the template are not scanned again.
+     * <p>
+     * The default implementation parses the contents reconstructed from the tokens.
+     * 
+     * @param tokens
+     * @return the template
+     * @see TemplateTokens#tokenize(String)
+     */
+    public default Template parse(TemplateTokens tokens) {
+        return parse(tokens.toContent());
+    }
+
+    /**
+     * The default implementation ignores the id and delegates to {@link #parse(TemplateTokens)}.
+     * 
+     * @param tokens
+     * @param id The id the template will be registered under, may be {@code null}
+     * @return the template
+     * @see EngineBuilder#compactText(Predicate)
+     */
+    public default Template parse(TemplateTokens tokens, String id) {
+        return parse(tokens);
+    }
+
     public SectionHelperFactory<?> getSectionHelperFactory(String name);
     
     public Map<String, SectionHelperFactory<?>> getSectionHelperFactories();
@@ -42,6 +81,10 @@ public interface Engine {
     /**
      * Obtain a compiled template for the given id. The template could be registered using
      * {@link #putTemplate(String, Template)} or loaded by a template locator.
+     * <p>
+     * If no template is found then the locators are not consulted again until the template is registered or the cache is
+     * cleared, see {@link #clearTemplates()} and {@link #removeTemplates(Predicate)}. Note that only a limited number of
+     * recently requested missing ids is remembered.
      * 
      * @param id
      * @return the template or null
@@ -50,7 +93,30 @@ public interface Engine {
     public Template getTemplate(String id);
 
     /**
-     * Removes all templates from the cache.
+     * Obtain a compiled template for the given id asynchronously. Unlike {@link #getTemplate(String)}, the calling thread
+     * is not blocked by the asynchronous template locators. Concurrent requests for the same id are coalesced, i.e. the
+     * template is only loaded once.
+     * <p>
+     * Note that the locators registered via {@link EngineBuilder#addLocator(java.util.function.Function)} are always
+     * invoked on the calling thread.
+     * <p>
+     * The default implementation delegates to {@link #getTemplate(String)}.
+     * 
+     * @param id
+     * @return the completion stage completed with the template or null
+     * @see EngineBuilder#addAsyncLocator(java.util.function.Function)
+     */
+    public default CompletionStage<Template> getTemplateAsync(String id) {
+        try {
+            return CompletableFuture.completedFuture(getTemplate(id));
+        } catch (Throwable e) {
+            return Futures.failure(e);
+        }
+    }
+
+    /**
+     * Removes all templates from the cache, including the information about missing templates and the fragments rendered
+     * by the {@code cached} sections.
      */
     public void clearTemplates();
 
@@ -12,8 +12,11 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 /**
@@ -25,15 +28,21 @@ public final class EngineBuilder {
     private final List<ValueResolver> valueResolvers;
     private final List<NamespaceResolver> namespaceResolvers;
     private final List<Function<String, Optional<Reader>>> locators;
+    private final List<Function<String, CompletionStage<Optional<Reader>>>> asyncLocators;
     private final List<ResultMapper> resultMappers;
+    private final Map<String, ExpressionAccessor> expressionAccessors;
     private Function<String, SectionHelperFactory<?>> sectionHelperFunc;
+    private TemplateCache templateCache;
+    private Predicate<String> compactText;
 
     EngineBuilder() {
         this.sectionHelperFactories = new HashMap<>();
         this.valueResolvers = new ArrayList<>();
         this.namespaceResolvers = new ArrayList<>();
         this.locators = new ArrayList<>();
+        this.asyncLocators = new ArrayList<>();
         this.resultMappers = new ArrayList<>();
+        this.expressionAccessors = new HashMap<>();
     }
 
     public EngineBuilder addSectionHelper(SectionHelperFactory<?> factory) {
@@ -59,7 +68,7 @@ public final class EngineBuilder {
     public EngineBuilder addDefaultSectionHelpers() {
         return addSectionHelpers(new IfSectionHelper.Factory(), new LoopSectionHelper.Factory(),
                 new WithSectionHelper.Factory(), new IncludeSectionHelper.Factory(), new InsertSectionHelper.Factory(),
-                new SetSectionHelper.Factory());
+                new SetSectionHelper.Factory(), new CachedSectionHelper.Factory());
     }
 
     public EngineBuilder addValueResolver(Supplier<ValueResolver> resolverSupplier) {
@@ -105,6 +114,19 @@ public final class EngineBuilder {
         return this;
     }
 
+    /**
+     * The asynchronous locators are used if no template is found by the locators registered via
+     * {@link #addLocator(Function)}.
+     * 
+     * @param locator
+     * @return self
+     * @see Engine#getTemplateAsync(String)
+     */
+    public EngineBuilder addAsyncLocator(Function<String, CompletionStage<Optional<Reader>>> locator) {
+        this.asyncLocators.add(locator);
+        return this;
+    }
+
     /**
      * 
      * @param resultMapper
@@ -115,14 +137,56 @@ public final class EngineBuilder {
         return this;
     }
 
+    /**
+     * 
+     * @param typeCheckInfo
+     * @param accessor
+     * @return self
+     * @see Expression#typeCheckInfo
+     */
+    public EngineBuilder addExpressionAccessor(String typeCheckInfo, ExpressionAccessor accessor) {
+        this.expressionAccessors.put(typeCheckInfo, accessor);
+        return this;
+    }
+
+    /**
+     * By default, the templates are cached forever.
+     * 
+     * @param templateCache
+     * @return self
+     * @see TemplateCache#builder()
+     */
+    public EngineBuilder templateCache(TemplateCache templateCache) {
+        this.templateCache = templateCache;
+        return this;
+    }
+
+    /**
+     * Enables the compaction of static text during parsing. Adjacent text nodes of all templates, e.g. separated by a comment
+     * or by a section folded during parsing, are merged into a single node with the origin of the first node. Moreover,
+     * insignificant whitespace is collapsed in HTML templates. The whitespace inside tags and inside the {@code pre},
+     * {@code textarea}, {@code script} and {@code style} elements is preserved.
+     * <p>
+     * By default, each text node is kept with its own origin.
+     * 
+     * @param html Tests whether the template with the given id produces HTML; the id is {@code null} if not known
+     * @return self
+     * @see Engine#parse(String, String)
+     */
+    public EngineBuilder compactText(Predicate<String> html) {
+        this.compactText = Objects.requireNonNull(html);
+        return this;
+    }
+
     public EngineBuilder computeSectionHelper(Function<String, SectionHelperFactory<?>> func) {
         this.sectionHelperFunc = func;
         return this;
     }
 
     public Engine build() {
-        return new EngineImpl(sectionHelperFactories, valueResolvers, namespaceResolvers, locators, resultMappers,
-                sectionHelperFunc);
+        return new EngineImpl(sectionHelperFactories, valueResolvers, namespaceResolvers, locators, asyncLocators,
+                resultMappers, sectionHelperFunc, expressionAccessors, templateCache,
+                compactText);
     }
 
 }
\ No newline at end of file
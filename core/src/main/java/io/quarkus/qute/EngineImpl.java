@@ -3,17 +3,25 @@ package io.quarkus.qute;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.StringReader;
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.ServiceLoader;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -30,26 +38,66 @@ class EngineImpl implements Engine {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(EngineImpl.class);
 
+    // The max number of remembered ids of missing templates
+    static final int MISSING_TEMPLATES_LIMIT = 1000;
+    // The number of locks used to intern expression cores - must be a power of two
+    static final int EXPRESSION_CORE_STRIPES = 32;
+
     private final Map<String, SectionHelperFactory<?>> sectionHelperFactories;
     private final Function<String, SectionHelperFactory<?>> sectionHelperFunc;
     private final List<ValueResolver> valueResolvers;
     private final List<NamespaceResolver> namespaceResolvers;
     private final Evaluator evaluator;
-    private final Map<String, Template> templates;
+    private final TemplateCache templates;
+    // Ids for which no template was found
+    private final MissingTemplates missingTemplates;
     private final List<Function<String, Optional<Reader>>> locators;
+    private final List<Function<String, CompletionStage<Optional<Reader>>>> asyncLocators;
+    // Templates being loaded - used to coalesce concurrent requests for the same id
+    private final ConcurrentMap<String, CompletableFuture<Template>> loading;
+    // Incremented when templates are removed - a template loaded by an older generation is not cached
+    private final Object generationLock = new Object();
+    // Guarded by generationLock
+    private long generation;
+    // The sequence number of the latest reload of a template - used to discard the results of older reloads
+    private final ConcurrentMap<String, Long> reloads = new ConcurrentHashMap<>();
+    private final AtomicLong reloadSequence = new AtomicLong();
     private final List<ResultMapper> resultMappers;
     private final PublisherFactory publisherFactory;
+    // Expression cores shared by all templates; a core is only retained while used by an expression
+    // The cores are split by hash so that parallel parsers do not contend on a single lock, each stripe is guarded by itself
+    private final List<Map<Expression.Core, WeakReference<Expression.Core>>> expressionCores;
     private final AtomicLong idGenerator = new AtomicLong(0);
+    // Null if static text is not compacted
+    private final Predicate<String> compactText;
+    // Stores of the cached sections
+    private final List<FragmentStore> fragmentStores;
 
     EngineImpl(Map<String, SectionHelperFactory<?>> sectionHelperFactories, List<ValueResolver> valueResolvers,
             List<NamespaceResolver> namespaceResolvers, List<Function<String, Optional<Reader>>> locators,
-            List<ResultMapper> resultMappers, Function<String, SectionHelperFactory<?>> sectionHelperFunc) {
+            List<Function<String, CompletionStage<Optional<Reader>>>> asyncLocators,
+            List<ResultMapper> resultMappers, Function<String, SectionHelperFactory<?>> sectionHelperFunc,
+            Map<String, ExpressionAccessor> expressionAccessors, TemplateCache templateCache, Predicate<String> compactText) {
         this.sectionHelperFactories = new HashMap<>(sectionHelperFactories);
         this.valueResolvers = sort(valueResolvers);
         this.namespaceResolvers = ImmutableList.copyOf(namespaceResolvers);
-        this.evaluator = new EvaluatorImpl(this.valueResolvers);
-        this.templates = new ConcurrentHashMap<>();
+        this.evaluator = new EvaluatorImpl(this.valueResolvers, expressionAccessors);
+        this.templates = templateCache != null ? templateCache : new UnboundedTemplateCache();
+        for (Entry<String, SectionHelperFactory<?>> entry : this.sectionHelperFactories.entrySet()) {
+            if (entry.getValue() instanceof UserTagSectionHelper.Factory) {
+                // Tag templates are never evicted
+                this.templates.pin(entry.getKey());
+            }
+        }
+        this.missingTemplates = new MissingTemplates(MISSING_TEMPLATES_LIMIT);
         this.locators = ImmutableList.copyOf(locators);
+        this.asyncLocators = ImmutableList.copyOf(asyncLocators);
+        this.loading = new ConcurrentHashMap<>();
+        List<Map<Expression.Core, WeakReference<Expression.Core>>> stripes = new ArrayList<>(EXPRESSION_CORE_STRIPES);
+        for (int i = 0; i < EXPRESSION_CORE_STRIPES; i++) {
+            stripes.add(new WeakHashMap<>());
+        }
+        this.expressionCores = stripes;
         ServiceLoader<PublisherFactory> loader = ServiceLoader.load(PublisherFactory.class);
         Iterator<PublisherFactory> iterator = loader.iterator();
         if (iterator.hasNext()) {
@@ -64,10 +112,41 @@ class EngineImpl implements Engine {
         }
         this.resultMappers = sort(resultMappers);
         this.sectionHelperFunc = sectionHelperFunc;
+        this.compactText = compactText;
+        this.fragmentStores = ImmutableList.copyOf(this.sectionHelperFactories.values().stream()
+                .filter(CachedSectionHelper.Factory.class::isInstance)
+                .map(factory -> ((CachedSectionHelper.Factory) factory).getStore()).distinct()
+                .collect(Collectors.toList()));
     }
 
     public Template parse(String content) {
-        return new Parser(this).parse(new StringReader(content));
+        return parse(content, (String) null);
+    }
+
+    @Override
+    public Template parse(String content, String id) {
+        return newParser(id).parse(new StringReader(content));
+    }
+
+    @Override
+    public Template parse(TemplateTokens tokens) {
+        return parse(tokens, null);
+    }
+
+    @Override
+    public Template parse(TemplateTokens tokens, String id) {
+        return newParser(id).parse(tokens);
+    }
+
+    private Parser newParser(String id) {
+        Parser parser = new Parser(this);
+        if (compactText != null) {
+            parser.mergeText();
+            if (compactText.test(id)) {
+                parser.compactHtml();
+            }
+        }
+        return parser;
     }
 
     @Override
@@ -100,21 +179,136 @@ class EngineImpl implements Engine {
     }
 
     public Template putTemplate(String id, Template template) {
+        missingTemplates.remove(id);
         return templates.put(id, template);
     }
 
     public Template getTemplate(String id) {
-        return templates.computeIfAbsent(id, this::load);
+        Template template = templates.get(id);
+        if (template != null) {
+            return template;
+        }
+        if (missingTemplates.contains(id)) {
+            // Do not try to locate the template again
+            return null;
+        }
+        try {
+            return load(id).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public CompletionStage<Template> getTemplateAsync(String id) {
+        Template template = templates.get(id);
+        if (template != null) {
+            return CompletableFuture.completedFuture(template);
+        }
+        if (missingTemplates.contains(id)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return load(id);
+    }
+
+    /**
+     *
+     * @param core
+     * @return the shared instance equal to the given core
+     */
+    Expression.Core intern(Expression.Core core) {
+        Map<Expression.Core, WeakReference<Expression.Core>> stripe = expressionCoreStripe(core);
+        synchronized (stripe) {
+            WeakReference<Expression.Core> ref = stripe.get(core);
+            Expression.Core existing = ref != null ? ref.get() : null;
+            if (existing != null) {
+                return existing;
+            }
+            // The value must not hold the key strongly
+            stripe.put(core, new WeakReference<>(core));
+            return core;
+        }
+    }
+
+    int getExpressionCoreCount() {
+        int count = 0;
+        for (Map<Expression.Core, WeakReference<Expression.Core>> stripe : expressionCores) {
+            synchronized (stripe) {
+                count += stripe.size();
+            }
+        }
+        return count;
+    }
+
+    private Map<Expression.Core, WeakReference<Expression.Core>> expressionCoreStripe(Expression.Core core) {
+        int hash = core.hashCode();
+        // Spread the higher bits, the same as HashMap does
+        return expressionCores.get((hash ^ (hash >>> 16)) & (EXPRESSION_CORE_STRIPES - 1));
     }
 
     @Override
     public void clearTemplates() {
-        templates.clear();
+        synchronized (generationLock) {
+            generation++;
+            templates.clear();
+            missingTemplates.clear();
+            loading.clear();
+        }
+        for (FragmentStore store : fragmentStores) {
+            store.clear();
+        }
     }
 
     @Override
     public void removeTemplates(Predicate<String> test) {
-        templates.keySet().removeIf(test);
+        synchronized (generationLock) {
+            generation++;
+            templates.removeIf(test);
+            missingTemplates.removeIf(test);
+            loading.keySet().removeIf(test);
+        }
+    }
+
+    /**
+     * Locates and parses a cached template again. The previous version is used until the new version is parsed
+     * successfully. A template that is not cached is not loaded; only its missing entry is removed. If the template is
+     * reloaded concurrently then only the result of the latest reload is used.
+     *
+     * @param id
+     * @return the new version, or {@code null} if the template is not cached or was not found
+     */
+    CompletionStage<Template> reload(String id) {
+        if (!templates.contains(id)) {
+            // Not requested yet - the next request consults the locators again
+            missingTemplates.remove(id);
+            return CompletableFuture.completedFuture(null);
+        }
+        long started = getGeneration();
+        Long sequence = reloadSequence.incrementAndGet();
+        reloads.put(id, sequence);
+        // All the locators are used so that a template located by a locator with higher priority is not shadowed
+        CompletionStage<Template> template;
+        try {
+            template = locate(id, 0);
+        } catch (Throwable e) {
+            template = Futures.failure(e);
+        }
+        return template.whenComplete((t, e) -> {
+            synchronized (generationLock) {
+                // Templates were removed or a newer reload started in the meantime
+                if (e == null && started == generation && sequence.equals(reloads.get(id))) {
+                    if (t != null) {
+                        templates.put(id, t);
+                    } else {
+                        templates.removeIf(id::equals);
+                    }
+                }
+                reloads.remove(id, sequence);
+            }
+        });
     }
 
     PublisherFactory getPublisherFactory() {
@@ -125,22 +319,81 @@ class EngineImpl implements Engine {
         return "" + idGenerator.incrementAndGet();
     }
 
-    private Template load(String id) {
-        for (Function<String, Optional<Reader>> locator : locators) {
-            Optional<Reader> reader = locator.apply(id);
-            if (reader.isPresent()) {
-                try {
-                    return new Parser(this).parse(reader.get());
-                } finally {
-                    try {
-                        reader.get().close();
-                    } catch (IOException e) {
-                        LOGGER.warn("Unable to close the reader for " + id, e);
+    private CompletableFuture<Template> load(String id) {
+        CompletableFuture<Template> result = new CompletableFuture<>();
+        CompletableFuture<Template> existing = loading.putIfAbsent(id, result);
+        if (existing != null) {
+            // The template is being loaded
+            return existing;
+        }
+        long started = getGeneration();
+        // Note that no lock is held while the locators are used
+        CompletionStage<Template> template;
+        try {
+            template = locate(id, 0);
+        } catch (Throwable e) {
+            template = Futures.failure(e);
+        }
+        template.whenComplete((t, e) -> {
+            if (e == null) {
+                synchronized (generationLock) {
+                    // Templates were removed in the meantime - the result may be stale
+                    if (started == generation) {
+                        if (t != null) {
+                            templates.put(id, t);
+                        } else {
+                            missingTemplates.add(id);
+                        }
                     }
                 }
             }
+            loading.remove(id, result);
+            if (e != null) {
+                result.completeExceptionally(e);
+            } else {
+                result.complete(t);
+            }
+        });
+        return result;
+    }
+
+    private CompletionStage<Template> locate(String id, int asyncLocatorIdx) {
+        if (asyncLocatorIdx == 0) {
+            for (Function<String, Optional<Reader>> locator : locators) {
+                Optional<Reader> reader = locator.apply(id);
+                if (reader.isPresent()) {
+                    return CompletableFuture.completedFuture(parse(id, reader.get()));
+                }
+            }
+        }
+        if (asyncLocatorIdx >= asyncLocators.size()) {
+            return CompletableFuture.completedFuture(null);
         }
-        return null;
+        return asyncLocators.get(asyncLocatorIdx).apply(id).thenCompose(reader -> reader.isPresent()
+                ? CompletableFuture.completedFuture(parse(id, reader.get()))
+                : locate(id, asyncLocatorIdx + 1));
+    }
+
+    private Template parse(String id, Reader reader) {
+        try {
+            return newParser(id).parse(reader);
+        } finally {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                LOGGER.warn("Unable to close the reader for " + id, e);
+            }
+        }
+    }
+
+    private long getGeneration() {
+        synchronized (generationLock) {
+            return generation;
+        }
+    }
+
+    int getMissingTemplateCount() {
+        return missingTemplates.size();
     }
 
     private static <T extends WithPriority> List<T> sort(Collection<T> items) {
@@ -149,6 +402,52 @@ class EngineImpl implements Engine {
         sorted.sort(Comparator.comparingInt(WithPriority::getPriority).reversed());
         return ImmutableList.copyOf(sorted);
     }
-    
+
+    /**
+     * The least recently used ids are removed first if the limit is exceeded.
+     */
+    private static final class MissingTemplates {
+
+        // Guarded by this
+        private final LinkedHashMap<String, Boolean> ids;
+
+        MissingTemplates(int limit) {
+            this.ids = new LinkedHashMap<String, Boolean>(16, 0.75f, true) {
+
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Entry<String, Boolean> eldest) {
+                    return size() > limit;
+                }
+            };
+        }
+
+        synchronized boolean contains(String id) {
+            // Updates the access order
+            return ids.get(id) != null;
+        }
+
+        synchronized void add(String id) {
+            ids.put(id, Boolean.TRUE);
+        }
+
+        synchronized void remove(String id) {
+            ids.remove(id);
+        }
+
+        synchronized void removeIf(Predicate<String> test) {
+            ids.keySet().removeIf(test);
+        }
+
+        synchronized void clear() {
+            ids.clear();
+        }
+
+        synchronized int size() {
+            return ids.size();
+        }
+
+    }
 
 }
@@ -1,8 +1,10 @@
 package io.quarkus.qute;
 
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Iterator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 
@@ -18,39 +20,111 @@ class EvaluatorImpl implements Evaluator {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(EvaluatorImpl.class);
 
+    // Marks an expression with no compiled accessor
+    private static final ExpressionAccessor NO_ACCESSOR = base -> Result.NOT_FOUND;
+
     private final List<ValueResolver> resolvers;
+    // Used if no inline cache entry can be used
+    private final ResolverDispatchTable dispatchTable;
+    private final Map<String, ExpressionAccessor> accessors;
 
-    EvaluatorImpl(List<ValueResolver> valueResolvers) {
+    EvaluatorImpl(List<ValueResolver> valueResolvers, Map<String, ExpressionAccessor> accessors) {
         this.resolvers = valueResolvers;
+        this.accessors = accessors.isEmpty() ? Collections.emptyMap() : new HashMap<>(accessors);
+        this.dispatchTable = new ResolverDispatchTable(valueResolvers);
     }
 
     @Override
     public CompletionStage<Object> evaluate(Expression expression, ResolutionContext resolutionContext) {
-        Iterator<String> parts;
         if (expression.namespace != null) {
-            parts = expression.parts.iterator();
             NamespaceResolver resolver = findNamespaceResolver(expression.namespace, resolutionContext);
             if (resolver == null) {
                 LOGGER.error("No namespace resolver found for: {}", expression.namespace);
                 return Futures.failure(new IllegalStateException("No resolver for namespace: " + expression.namespace));
             }
-            EvalContext context = new EvalContextImpl(false, null, parts.next(), resolutionContext);
+            EvalContext context = new EvalContextImpl(false, null, expression.parsedParts[0], resolutionContext);
             LOGGER.debug("Found '{}' namespace resolver: {}", expression.namespace, resolver.getClass());
-            return resolver.resolve(context).thenCompose(r -> {
-                if (parts.hasNext()) {
-                    return resolveReference(false, r, parts, resolutionContext);
-                } else {
-                    return CompletableFuture.completedFuture(r);
-                }
-            });
+            CompletionStage<Object> result = resolver.resolve(context);
+            if (expression.parts.size() == 1) {
+                return result;
+            }
+            return next(result, expression, 1, resolutionContext);
         } else {
             if (expression.literal != null) {
                 return expression.literal;
+            }
+            ExpressionAccessor accessor = getAccessor(expression);
+            if (accessor != null) {
+                // Only the first part is resolved by the value resolvers
+                Expression.Part part = expression.parsedParts[0];
+                CompletionStage<Object> result = resolve(
+                        new EvalContextImpl(true, resolutionContext.getData(), part, resolutionContext), part.cache);
+                if (Futures.isCompleted(result)) {
+                    try {
+                        return access(accessor, Futures.getCompleted(result), expression, resolutionContext);
+                    } catch (Throwable e) {
+                        return Futures.failure(e);
+                    }
+                }
+                return result.thenCompose(r -> access(accessor, r, expression, resolutionContext));
+            }
+            return resolveReference(true, resolutionContext.getData(), expression, 0, resolutionContext);
+        }
+    }
+
+    private ExpressionAccessor getAccessor(Expression expression) {
+        if (accessors.isEmpty()) {
+            return null;
+        }
+        ExpressionAccessor accessor = expression.core.accessor;
+        if (accessor == null) {
+            if (expression.typeCheckInfo != null && expression.parts.size() > 1) {
+                accessor = accessors.getOrDefault(expression.typeCheckInfo, NO_ACCESSOR);
+                if (accessor != NO_ACCESSOR && !isApplicable(accessor, expression)) {
+                    LOGGER.debug("Compiled accessor not used for {} - a value resolver with higher priority applies",
+                            expression.toOriginalString());
+                    accessor = NO_ACCESSOR;
+                }
             } else {
-                parts = expression.parts.iterator();
-                return resolveReference(true, resolutionContext.getData(), parts, resolutionContext);
+                accessor = NO_ACCESSOR;
             }
+            // It's not a problem if the accessor is looked up multiple times
+            expression.core.accessor = accessor;
+        }
+        return accessor != NO_ACCESSOR ? accessor : null;
+    }
+
+    /**
+     * The compiled parts must be resolved by the declared value resolvers in the interpreted mode, i.e. the declared resolver
+     * must be the first candidate for the given base class and name.
+     */
+    private boolean isApplicable(ExpressionAccessor accessor, Expression expression) {
+        List<String> valueResolvers = accessor.getValueResolvers();
+        if (valueResolvers.isEmpty()) {
+            return true;
+        }
+        List<Class<?>> baseClasses = accessor.getBaseClasses();
+        int compiledParts = expression.parts.size() - 1;
+        if (valueResolvers.size() != compiledParts || baseClasses.size() != compiledParts) {
+            return false;
+        }
+        for (int i = 0; i < compiledParts; i++) {
+            ValueResolver[] candidates = dispatchTable.get(baseClasses.get(i), expression.parsedParts[i + 1].name).candidates;
+            if (candidates.length == 0 || !candidates[0].getClass().getName().equals(valueResolvers.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private CompletionStage<Object> access(ExpressionAccessor accessor, Object base, Expression expression,
+            ResolutionContext resolutionContext) {
+        Object value = accessor.access(base);
+        if (Result.NOT_FOUND.equals(value)) {
+            // The accessor cannot be used - fall back to the value resolvers
+            return resolveReference(false, base, expression, 1, resolutionContext);
         }
+        return CompletableFuture.completedFuture(value);
     }
 
     private NamespaceResolver findNamespaceResolver(String namespace, ResolutionContext resolutionContext) {
@@ -67,63 +141,115 @@ class EvaluatorImpl implements Evaluator {
         return findNamespaceResolver(namespace, resolutionContext.getParent());
     }
 
-    private CompletionStage<Object> resolveReference(boolean tryParent, Object ref, Iterator<String> parts,
+    private CompletionStage<Object> resolveReference(boolean tryParent, Object ref, Expression expression, int partIndex,
             ResolutionContext resolutionContext) {
-        return resolve(new EvalContextImpl(tryParent, ref, parts.next(), resolutionContext), resolvers.iterator())
-                .thenCompose(r -> {
-                    if (parts.hasNext()) {
-                        return resolveReference(false, r, parts, resolutionContext);
-                    } else {
-                        return CompletableFuture.completedFuture(r);
-                    }
-                });
+        Expression.Part part = expression.parsedParts[partIndex];
+        CompletionStage<Object> result = resolve(new EvalContextImpl(tryParent, ref, part, resolutionContext), part.cache);
+        if (partIndex + 1 == expression.parts.size()) {
+            return result;
+        }
+        return next(result, expression, partIndex + 1, resolutionContext);
     }
 
-    private CompletionStage<Object> resolve(EvalContextImpl evalContext, Iterator<ValueResolver> resolvers) {
-        if (!resolvers.hasNext()) {
-            ResolutionContext parent = evalContext.resolutionContext.getParent();
-            if (evalContext.tryParent && parent != null) {
-                // Continue with parent context
-                return resolve(
-                        new EvalContextImpl(false, parent.getData(), evalContext.name, parent),
-                        this.resolvers.iterator());
+    private CompletionStage<Object> next(CompletionStage<Object> result, Expression expression, int partIndex,
+            ResolutionContext resolutionContext) {
+        if (Futures.isCompleted(result)) {
+            // Sync fast path - no need to compose the stages
+            try {
+                return resolveReference(false, Futures.getCompleted(result), expression, partIndex, resolutionContext);
+            } catch (Throwable e) {
+                return Futures.failure(e);
             }
-            return Results.NOT_FOUND;
         }
-        ValueResolver resolver = resolvers.next();
-        if (resolver.appliesTo(evalContext)) {
-            return resolver.resolve(evalContext).thenCompose(r -> {
+        return result.thenCompose(r -> resolveReference(false, r, expression, partIndex, resolutionContext));
+    }
+
+    private CompletionStage<Object> resolve(EvalContextImpl evalContext, InlineCache cache) {
+        Class<?> baseClass = evalContext.base != null ? evalContext.base.getClass() : null;
+        InlineCache.Entry entry = cache.get(baseClass, resolvers);
+        if (entry == null) {
+            if (cache.isFull()) {
+                // Megamorphic call site
+                entry = dispatchTable.get(baseClass, evalContext.getName());
+            } else {
+                entry = createEntry(baseClass, evalContext);
+                cache.put(entry);
+            }
+        }
+        return resolve(evalContext, entry, 0, cache);
+    }
+
+    private CompletionStage<Object> resolve(EvalContextImpl evalContext, InlineCache.Entry entry, int index,
+            InlineCache cache) {
+        for (int i = index; i < entry.candidates.length; i++) {
+            ValueResolver resolver = entry.candidates[i];
+            if (entry.testAppliesTo[i] && !resolver.appliesTo(evalContext)) {
+                continue;
+            }
+            CompletionStage<Object> result = resolver.resolve(evalContext);
+            if (Futures.isCompleted(result)) {
+                if (Result.NOT_FOUND.equals(Futures.getCompleted(result))) {
+                    // Try next resolver
+                    continue;
+                }
+                return result;
+            }
+            int next = i + 1;
+            return result.thenCompose(r -> {
                 if (Result.NOT_FOUND.equals(r)) {
-                    return resolve(evalContext, resolvers);
+                    return resolve(evalContext, entry, next, cache);
                 } else {
                     return CompletableFuture.completedFuture(r);
                 }
             });
-        } else {
-            // Try next resolver
-            return resolve(evalContext, resolvers);
         }
+        ResolutionContext parent = evalContext.resolutionContext.getParent();
+        if (evalContext.tryParent && parent != null) {
+            // Continue with parent context
+            return resolve(new EvalContextImpl(false, parent.getData(), evalContext.part, parent), cache);
+        }
+        return Results.NOT_FOUND;
+    }
+
+    private InlineCache.Entry createEntry(Class<?> baseClass, EvalContext evalContext) {
+        ValueResolver[] applicable = dispatchTable.get(baseClass, evalContext.getName()).candidates;
+        List<ValueResolver> candidates = new ArrayList<>(applicable.length);
+        List<Boolean> testAppliesTo = new ArrayList<>(applicable.length);
+        for (ValueResolver resolver : applicable) {
+            if (resolver.isAppliesToCacheable()) {
+                // The result of appliesTo() is the same for all evaluations of this part with the same base class
+                if (resolver.appliesTo(evalContext)) {
+                    candidates.add(resolver);
+                    testAppliesTo.add(false);
+                }
+            } else {
+                candidates.add(resolver);
+                testAppliesTo.add(true);
+            }
+        }
+        boolean[] test = new boolean[testAppliesTo.size()];
+        for (int i = 0; i < test.length; i++) {
+            test[i] = testAppliesTo.get(i);
+        }
+        return new InlineCache.Entry(baseClass, resolvers, candidates.toArray(new ValueResolver[0]), test);
     }
 
     class EvalContextImpl implements EvalContext {
 
         final boolean tryParent;
         final Object base;
-        final String name;
-        final List<String> params;
+        final Expression.Part part;
         final ResolutionContext resolutionContext;
 
-        public EvalContextImpl(boolean tryParent, Object base, String name, ResolutionContext resolutionContext) {
+        EvalContextImpl(boolean tryParent, Object base, Expression.Part part, ResolutionContext resolutionContext) {
+            if (!part.isValid()) {
+                // Fails with a meaningful message
+                Expressions.parseVirtualMethodParams(part.value);
+            }
             this.tryParent = tryParent;
             this.base = base;
+            this.part = part;
             this.resolutionContext = resolutionContext;
-            if (Expressions.isVirtualMethod(name)) {
-                this.params = Expressions.parseVirtualMethodParams(name);
-                this.name = Expressions.parserVirtualMethodName(name);
-            } else {
-                this.params = Collections.emptyList();
-                this.name = name;
-            }
         }
 
         @Override
@@ -133,17 +259,19 @@ class EvaluatorImpl implements Evaluator {
 
         @Override
         public String getName() {
-            return name;
+            return part.name;
         }
 
         @Override
         public List<String> getParams() {
-            return params;
+            return part.params;
         }
 
         @Override
         public CompletionStage<Object> evaluate(String value) {
-            return evaluate(Expression.from(value));
+            // Params of a virtual method are parsed upfront
+            Expression expression = part.getParamExpression(value);
+            return evaluate(expression != null ? expression : Expression.from(value));
         }
 
         @Override
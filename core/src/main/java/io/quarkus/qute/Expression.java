@@ -18,7 +18,7 @@ import io.quarkus.qute.TemplateNode.Origin;
  */
 public final class Expression {
 
-    static final Expression EMPTY = new Expression(null, Collections.emptyList(), null, null, null);
+    static final Expression EMPTY = new Expression(new Core(null, Collections.emptyList(), null, null), null);
 
     /**
      * 
@@ -40,7 +40,7 @@ public final class Expression {
         if (literal == null) {
             throw new IllegalArgumentException("Not a literal value: " + value);
         }
-        return new Expression(null, Collections.singletonList(value), literal, null, null);
+        return new Expression(new Core(null, Collections.singletonList(value), literal, null), null);
     }
 
     public final String namespace;
@@ -48,12 +48,18 @@ public final class Expression {
     public final CompletableFuture<Object> literal;
     public final String typeCheckInfo;
     public final Origin origin;
+    // Location-independent part that may be shared by multiple expressions
+    final Core core;
+    // Structured model of the parts, null for literals
+    final Part[] parsedParts;
 
-    Expression(String namespace, List<String> parts, Object literal, String typeCheckInfo, Origin origin) {
-        this.namespace = namespace;
-        this.parts = parts;
-        this.literal = literal != Result.NOT_FOUND ? CompletableFuture.completedFuture(literal) : null;
-        this.typeCheckInfo = typeCheckInfo;
+    Expression(Core core, Origin origin) {
+        this.core = core;
+        this.namespace = core.namespace;
+        this.parts = core.parts;
+        this.literal = core.literal;
+        this.typeCheckInfo = core.typeCheckInfo;
+        this.parsedParts = core.parsedParts;
         this.origin = origin;
     }
 
@@ -103,6 +109,10 @@ public final class Expression {
     }
 
     private Object literalValue() {
+        return literalValue(literal);
+    }
+
+    private static Object literalValue(CompletableFuture<Object> literal) {
         if (literal != null) {
             try {
                 return literal.get();
@@ -113,4 +123,119 @@ public final class Expression {
         return null;
     }
 
+    /**
+     * The location-independent part of an expression. Expressions with equal cores, e.g. {@code item.name} used in several
+     * templates, may share a single instance and so also the per-part inline caches and the compiled accessor. An interned
+     * core is only retained while used by some expression, i.e. the cores of evicted templates can be garbage collected.
+     *
+     * @see EngineImpl#intern(Core)
+     */
+    static final class Core {
+
+        final String namespace;
+        final List<String> parts;
+        final CompletableFuture<Object> literal;
+        final String typeCheckInfo;
+        final Part[] parsedParts;
+        private final int hashCode;
+        // Compiled accessor bound lazily by the evaluator
+        volatile ExpressionAccessor accessor;
+
+        Core(String namespace, List<String> parts, Object literal, String typeCheckInfo) {
+            this.namespace = namespace;
+            this.parts = parts;
+            this.literal = literal != Result.NOT_FOUND ? CompletableFuture.completedFuture(literal) : null;
+            this.typeCheckInfo = typeCheckInfo;
+            if (this.literal != null) {
+                this.parsedParts = null;
+            } else {
+                this.parsedParts = new Part[parts.size()];
+                for (int i = 0; i < parsedParts.length; i++) {
+                    parsedParts[i] = new Part(parts.get(i));
+                }
+            }
+            this.hashCode = Objects.hash(literal != Result.NOT_FOUND ? literal : null, namespace, parts, typeCheckInfo);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Core)) {
+                return false;
+            }
+            Core other = (Core) obj;
+            return hashCode == other.hashCode && Objects.equals(namespace, other.namespace)
+                    && Objects.equals(parts, other.parts) && Objects.equals(typeCheckInfo, other.typeCheckInfo)
+                    && Objects.equals(literalValue(literal), literalValue(other.literal));
+        }
+
+    }
+
+    /**
+     * A part of an expression, e.g. a property name such as {@code name} or a virtual method such as
+     * {@code format('0.00')}. The params of a virtual method are parsed upfront.
+     */
+    static final class Part {
+
+        final String value;
+        final String name;
+        final List<String> params;
+        final Expression[] paramExpressions;
+        final InlineCache cache;
+
+        Part(String value) {
+            this.value = value;
+            this.cache = new InlineCache();
+            List<String> params = Collections.emptyList();
+            String name = value;
+            if (Expressions.isVirtualMethod(value)) {
+                try {
+                    params = Expressions.parseVirtualMethodParams(value);
+                    name = Expressions.parserVirtualMethodName(value);
+                } catch (IllegalArgumentException e) {
+                    // Invalid virtual method - the error is reported during evaluation
+                    params = null;
+                }
+            }
+            this.name = name;
+            this.params = params;
+            if (params == null || params.isEmpty()) {
+                this.paramExpressions = null;
+            } else {
+                this.paramExpressions = new Expression[params.size()];
+                for (int i = 0; i < paramExpressions.length; i++) {
+                    paramExpressions[i] = Parser.parseExpression(params.get(i), Collections.emptyMap(), null);
+                }
+            }
+        }
+
+        /**
+         * 
+         * @param param
+         * @return the parsed expression for the given param or {@code null} if no such param exists
+         */
+        Expression getParamExpression(String param) {
+            if (paramExpressions != null) {
+                for (int i = 0; i < paramExpressions.length; i++) {
+                    if (params.get(i).equals(param)) {
+                        return paramExpressions[i];
+                    }
+                }
+            }
+            return null;
+        }
+
+        boolean isValid() {
+            return params != null;
+        }
+
+    }
+
 }
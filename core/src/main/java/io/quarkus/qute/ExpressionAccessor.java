@@ -0,0 +1,49 @@
+package io.quarkus.qute;
+
+import java.util.Collections;
+import java.util.List;
+
+import io.quarkus.qute.Results.Result;
+
+/**
+ * Compiled accessor for the parts of an expression that follow the first part. For example, an accessor for
+ * {@code item.name} obtains the value of {@code name} from the resolved {@code item} object directly, i.e. without
+ * consulting the value resolvers.
+ * <p>
+ * An accessor is bound to the expressions with matching type check info. If the accessor declares the value resolvers it
+ * replaces then it's only used if each compiled part would be resolved by the declared resolver, i.e. no other resolver
+ * with higher priority applies. Otherwise, the expression is evaluated by the value resolvers.
+ *
+ * @see EngineBuilder#addExpressionAccessor(String, ExpressionAccessor)
+ * @see Expression#typeCheckInfo
+ */
+@FunctionalInterface
+public interface ExpressionAccessor {
+
+    /**
+     *
+     * @param base The value of the first part of the expression
+     * @return the value of the last part of the expression or {@link Result#NOT_FOUND} if the accessor cannot be used for
+     *         the given base object, in which case the value resolvers are used
+     */
+    Object access(Object base);
+
+    /**
+     * 
+     * @return the classes of the objects the compiled parts are accessed on, one for each compiled part
+     * @see #getValueResolvers()
+     */
+    default List<Class<?>> getBaseClasses() {
+        return Collections.emptyList();
+    }
+
+    /**
+     * 
+     * @return the names of the value resolver classes that resolve the compiled parts, one for each compiled part; an empty
+     *         list means that the accessor is always used
+     */
+    default List<String> getValueResolvers() {
+        return Collections.emptyList();
+    }
+
+}
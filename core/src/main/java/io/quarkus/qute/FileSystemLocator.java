@@ -0,0 +1,233 @@
+package io.quarkus.qute;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Locates UTF-8 encoded templates in a filesystem directory. The template id is a path relative to the root directory,
+ * e.g. {@code items.html}. If no file is found then the id with each of the suffixes is tried, e.g. {@code items} ->
+ * {@code items.html}.
+ * <p>
+ * If {@link #watch(Engine)} is used then the changed templates that were already loaded by the engine are located,
+ * parsed and replaced in the background. The previous version of a template is used until the new version is parsed
+ * successfully. Templates that were not loaded yet are not touched.
+ *
+ * @see EngineBuilder#addLocator(Function)
+ */
+public class FileSystemLocator implements Function<String, Optional<Reader>>, Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FileSystemLocator.class);
+
+    private final Path root;
+    private final List<String> suffixes;
+    private volatile WatchService watchService;
+
+    /**
+     *
+     * @param root The root directory
+     * @param suffixes The suffixes used if no file matches the template id, e.g. {@code html}
+     */
+    public FileSystemLocator(Path root, String... suffixes) {
+        this.root = root.toAbsolutePath().normalize();
+        this.suffixes = ImmutableList.of(suffixes);
+    }
+
+    @Override
+    public Optional<Reader> apply(String id) {
+        Path file = find(id);
+        if (file == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(new StringReader(read(file)));
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to read the template file: " + file, e);
+        }
+    }
+
+    /**
+     * Starts a background thread that watches the root directory and its subdirectories. If a template file is modified
+     * then all the matching templates cached by the engine are located and parsed again. If a template file is deleted
+     * then all the matching templates are removed from the engine.
+     *
+     * @param engine
+     * @return self
+     */
+    public synchronized FileSystemLocator watch(Engine engine) {
+        if (watchService != null) {
+            throw new IllegalStateException("Already watching: " + root);
+        }
+        try {
+            watchService = root.getFileSystem().newWatchService();
+            register(watchService, root);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to watch the directory: " + root, e);
+        }
+        WatchService service = watchService;
+        Thread watcher = new Thread(() -> processEvents(service, engine), "qute-template-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+        return this;
+    }
+
+    /**
+     * Stops watching the root directory.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+            watchService = null;
+        }
+    }
+
+    private Path find(String id) {
+        Path file = resolve(id);
+        if (file == null) {
+            for (String suffix : suffixes) {
+                file = resolve(id + "." + suffix);
+                if (file != null) {
+                    break;
+                }
+            }
+        }
+        return file;
+    }
+
+    private Path resolve(String id) {
+        Path file = root.resolve(id).normalize();
+        // Do not allow to escape the root directory
+        return file.startsWith(root) && Files.isRegularFile(file) ? file : null;
+    }
+
+    private String read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("The template file is too large: " + file);
+            }
+            // Note that a mapped buffer is not used - it cannot be unmapped explicitly and would lock the file on some platforms
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // Read until the buffer is full or the end of the file is reached
+            }
+            buffer.flip();
+            return StandardCharsets.UTF_8.decode(buffer).toString();
+        }
+    }
+
+    private static void register(WatchService watchService, Path directory) throws IOException {
+        Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                dir.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private void processEvents(WatchService watchService, Engine engine) {
+        while (true) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (ClosedWatchServiceException | InterruptedException e) {
+                return;
+            }
+            Set<String> changed = new HashSet<>();
+            Set<String> deleted = new HashSet<>();
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == OVERFLOW) {
+                    LOGGER.warn("Some template changes may have been lost - all templates are removed");
+                    engine.clearTemplates();
+                    continue;
+                }
+                Path path = ((Path) key.watchable()).resolve((Path) event.context());
+                if (event.kind() == ENTRY_CREATE && Files.isDirectory(path)) {
+                    try {
+                        register(watchService, path);
+                    } catch (IOException e) {
+                        LOGGER.warn("Unable to watch the directory: " + path, e);
+                    }
+                    continue;
+                }
+                String id = root.relativize(path).toString().replace(path.getFileSystem().getSeparator(), "/");
+                if (event.kind() == ENTRY_DELETE) {
+                    deleted.add(id);
+                } else {
+                    changed.add(id);
+                }
+            }
+            key.reset();
+            for (String id : deleted) {
+                engine.removeTemplates(getIds(id)::contains);
+            }
+            for (String id : changed) {
+                for (String templateId : getIds(id)) {
+                    update(engine, templateId);
+                }
+            }
+        }
+    }
+
+    private void update(Engine engine, String id) {
+        if (engine instanceof EngineImpl) {
+            ((EngineImpl) engine).reload(id).whenComplete((t, e) -> {
+                if (e != null) {
+                    // E.g. the file is being written
+                    LOGGER.warn("Unable to update the template: " + id, e);
+                } else if (t != null) {
+                    LOGGER.debug("Template updated: {}", id);
+                }
+            });
+        } else {
+            engine.removeTemplates(id::equals);
+        }
+    }
+
+    /**
+     *
+     * @param path
+     * @return the ids of templates that may be located by the given relative path
+     */
+    private List<String> getIds(String path) {
+        List<String> ids = new ArrayList<>();
+        ids.add(path);
+        for (String suffix : suffixes) {
+            if (path.endsWith("." + suffix)) {
+                ids.add(path.substring(0, path.length() - suffix.length() - 1));
+            }
+        }
+        return ids;
+    }
+
+}
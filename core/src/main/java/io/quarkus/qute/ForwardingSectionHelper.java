@@ -0,0 +1,12 @@
+package io.quarkus.qute;
+
+/**
+ * A section helper that never processes the result nodes of executed blocks itself but only returns them. Therefore, the
+ * blocks executed by this helper may return result nodes that are not resolved yet and the output can be flushed
+ * incrementally. The blocks executed by other helpers are always resolved first.
+ *
+ * @see PendingResultNode
+ */
+interface ForwardingSectionHelper extends SectionHelper {
+
+}
@@ -0,0 +1,49 @@
+package io.quarkus.qute;
+
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+/**
+ * Stores the rendered fragments of the {@code cached} sections. An implementation may keep the fragments off-heap or share
+ * them between multiple applications.
+ *
+ * @see CachedSectionHelper.Factory#Factory(FragmentStore)
+ * @see #bounded(int)
+ */
+public interface FragmentStore {
+
+    /**
+     * The least recently used fragments are evicted first. Concurrent requests for a missing or expired fragment are
+     * coalesced, i.e. the fragment is only rendered once.
+     *
+     * @param maximumSize
+     * @return a new in-memory store
+     */
+    static FragmentStore bounded(int maximumSize) {
+        return new BoundedFragmentStore(maximumSize, System::nanoTime);
+    }
+
+    /**
+     * If no fragment is stored for the given key or the fragment has expired then the loader is used to render the
+     * fragment. An implementation should make sure that the loader is not invoked concurrently for the same key.
+     *
+     * @param key
+     * @param ttl The time-to-live in milliseconds, {@link Long#MAX_VALUE} means that the fragment never expires
+     * @param loader
+     * @return the completion stage completed with the fragment
+     */
+    CompletionStage<String> get(String key, long ttl, Supplier<CompletionStage<String>> loader);
+
+    /**
+     * Removes the fragment for the given key.
+     *
+     * @param key
+     */
+    void invalidate(String key);
+
+    /**
+     * Removes all fragments.
+     */
+    void clear();
+
+}
@@ -14,6 +14,30 @@ class Futures {
         return failure;
     }
 
+    /**
+     * 
+     * @param stage
+     * @return {@code true} if the stage is a {@link CompletableFuture} that is already completed normally
+     */
+    static boolean isCompleted(CompletionStage<?> stage) {
+        if (stage instanceof CompletableFuture) {
+            CompletableFuture<?> future = (CompletableFuture<?>) stage;
+            return future.isDone() && !future.isCompletedExceptionally();
+        }
+        return false;
+    }
+
+    /**
+     * This method should only be used if {@link #isCompleted(CompletionStage)} returns {@code true}.
+     * 
+     * @param stage
+     * @return the result value of a completed stage
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T getCompleted(CompletionStage<? extends T> stage) {
+        return ((CompletableFuture<T>) stage).join();
+    }
+
     @SuppressWarnings("unchecked")
     static CompletionStage<Map<String, Object>> evaluateParams(Map<String, Expression> parameters,
             ResolutionContext resolutionContext) {
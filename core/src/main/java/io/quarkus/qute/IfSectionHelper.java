@@ -17,7 +17,7 @@ import io.quarkus.qute.SectionHelperFactory.SectionInitContext;
 /**
  * Basic {@code if} statement.
  */
-public class IfSectionHelper implements SectionHelper {
+public class IfSectionHelper implements ForwardingSectionHelper {
 
     static final String CONDITION = "condition";
     private static final String OPERATOR = "operator";
@@ -52,9 +52,17 @@ public class IfSectionHelper implements SectionHelper {
         }
         if (block.operator != null) {
             // If operator is used we need to compare the results of condition and operand
-            CompletableFuture<ResultNode> result = new CompletableFuture<ResultNode>();
             CompletableFuture<?> cf1 = context.resolutionContext().evaluate(block.condition).toCompletableFuture();
             CompletableFuture<?> cf2 = context.resolutionContext().evaluate(block.operand).toCompletableFuture();
+            if (Futures.isCompleted(cf1) && Futures.isCompleted(cf2)) {
+                // Sync fast path - no need to compose the stages
+                try {
+                    return resolveBlock(block.operator.evaluate(cf1.join(), cf2.join()), block, context, blocks);
+                } catch (Throwable e) {
+                    return Futures.failure(e);
+                }
+            }
+            CompletableFuture<ResultNode> result = new CompletableFuture<ResultNode>();
             CompletableFuture.allOf(cf1, cf2).whenComplete((v, t1) -> {
                 if (t1 != null) {
                     result.completeExceptionally(t1);
@@ -68,27 +76,13 @@ public class IfSectionHelper implements SectionHelper {
                         throw new IllegalStateException(e);
                     }
                     try {
-                        if (block.operator.evaluate(op1, op2)) {
-                            context.execute(block.block, context.resolutionContext()).whenComplete((r, t2) -> {
-                                if (t2 != null) {
-                                    result.completeExceptionally(t2);
-                                } else {
-                                    result.complete(r);
-                                }
-                            });
-                        } else {
-                            if (blocks.hasNext()) {
-                                resolveCondition(context, blocks).whenComplete((r, t2) -> {
-                                    if (t2 != null) {
-                                        result.completeExceptionally(t2);
-                                    } else {
-                                        result.complete(r);
-                                    }
-                                });
+                        resolveBlock(block.operator.evaluate(op1, op2), block, context, blocks).whenComplete((r, t2) -> {
+                            if (t2 != null) {
+                                result.completeExceptionally(t2);
                             } else {
-                                result.complete(ResultNode.NOOP);
+                                result.complete(r);
                             }
-                        }
+                        });
                     } catch (Exception e) {
                         result.completeExceptionally(e);
                     }
@@ -96,17 +90,58 @@ public class IfSectionHelper implements SectionHelper {
             });
             return result;
         } else {
-            return context.resolutionContext().evaluate(block.condition).thenCompose(r -> {
-                if (Boolean.TRUE.equals(r)) {
-                    return context.execute(block.block, context.resolutionContext());
+            CompletionStage<Object> condition = context.resolutionContext().evaluate(block.condition);
+            if (Futures.isCompleted(condition)) {
+                // Sync fast path - no need to compose the stages
+                try {
+                    return resolveBlock(Boolean.TRUE.equals(Futures.getCompleted(condition)), block, context, blocks);
+                } catch (Throwable e) {
+                    return Futures.failure(e);
+                }
+            }
+            return condition.thenCompose(r -> resolveBlock(Boolean.TRUE.equals(r), block, context, blocks));
+        }
+    }
+
+    /**
+     * 
+     * @return the nodes of the block that is always rendered, an empty list if no block is rendered or {@code null} if
+     *         some of the conditions is not a literal
+     */
+    List<TemplateNode> getConstantNodes() {
+        for (IfBlock block : blocks) {
+            if (block.condition == null) {
+                return block.block.nodes;
+            }
+            if (block.condition.literal == null || (block.operand != null && block.operand.literal == null)) {
+                return null;
+            }
+            boolean conditionMet;
+            try {
+                if (block.operator != null) {
+                    conditionMet = block.operator.evaluate(block.condition.literal.join(), block.operand.literal.join());
                 } else {
-                    if (blocks.hasNext()) {
-                        return resolveCondition(context, blocks);
-                    }
-                    return CompletableFuture.completedFuture(ResultNode.NOOP);
+                    conditionMet = Boolean.TRUE.equals(block.condition.literal.join());
                 }
-            });
+            } catch (RuntimeException e) {
+                // The error is reported during rendering
+                return null;
+            }
+            if (conditionMet) {
+                return block.block.nodes;
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    private CompletionStage<ResultNode> resolveBlock(boolean conditionMet, IfBlock block, SectionResolutionContext context,
+            Iterator<IfBlock> blocks) {
+        if (conditionMet) {
+            return context.execute(block.block, context.resolutionContext());
+        } else if (blocks.hasNext()) {
+            return resolveCondition(context, blocks);
         }
+        return CompletableFuture.completedFuture(ResultNode.NOOP);
     }
 
     public static class Factory implements SectionHelperFactory<IfSectionHelper> {
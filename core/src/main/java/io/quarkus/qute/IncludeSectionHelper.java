@@ -6,7 +6,7 @@ import java.util.Map;
 import java.util.concurrent.CompletionStage;
 import java.util.function.Supplier;
 
-public class IncludeSectionHelper implements SectionHelper {
+public class IncludeSectionHelper implements ForwardingSectionHelper {
 
     private static final String TEMPLATE = "template";
 
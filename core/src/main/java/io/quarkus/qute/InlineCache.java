@@ -0,0 +1,71 @@
+package io.quarkus.qute;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Inline cache attached to a part of an expression. It holds the candidate value resolvers for a limited number of base
+ * object classes.
+ *
+ * @see ValueResolver#isAppliesToCacheable()
+ */
+final class InlineCache {
+
+    static final int MAX_ENTRIES = 4;
+
+    private static final Entry[] EMPTY = new Entry[0];
+
+    private volatile Entry[] entries = EMPTY;
+
+    /**
+     *
+     * @param baseClass
+     * @param resolvers
+     * @return the entry for the given class and list of resolvers or {@code null} if no such entry exists
+     */
+    Entry get(Class<?> baseClass, List<ValueResolver> resolvers) {
+        for (Entry entry : entries) {
+            if (entry.baseClass == baseClass && entry.resolvers == resolvers) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    /**
+     *
+     * @return {@code true} if no more entries can be added, i.e. the call site is megamorphic
+     */
+    boolean isFull() {
+        return entries.length >= MAX_ENTRIES;
+    }
+
+    void put(Entry entry) {
+        Entry[] current = entries;
+        if (current.length < MAX_ENTRIES) {
+            // It's not a problem if an entry is lost in a race
+            Entry[] newEntries = Arrays.copyOf(current, current.length + 1);
+            newEntries[current.length] = entry;
+            entries = newEntries;
+        }
+    }
+
+    static final class Entry {
+
+        final Class<?> baseClass;
+        final List<ValueResolver> resolvers;
+        // Candidate resolvers in the order of priority
+        final ValueResolver[] candidates;
+        // appliesTo() must be tested for non-cacheable resolvers
+        final boolean[] testAppliesTo;
+
+        Entry(Class<?> baseClass, List<ValueResolver> resolvers, ValueResolver[] candidates, boolean[] testAppliesTo) {
+            this.baseClass = baseClass;
+            this.resolvers = resolvers;
+            this.candidates = candidates;
+            this.testAppliesTo = testAppliesTo;
+        }
+
+    }
+
+}
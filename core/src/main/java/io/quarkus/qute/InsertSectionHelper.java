@@ -3,7 +3,7 @@ package io.quarkus.qute;
 import java.util.List;
 import java.util.concurrent.CompletionStage;
 
-public class InsertSectionHelper implements SectionHelper {
+public class InsertSectionHelper implements ForwardingSectionHelper {
 
     private final String name;
     private final SectionBlock defaultBlock;
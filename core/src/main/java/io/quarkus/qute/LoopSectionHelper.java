@@ -12,65 +12,94 @@ import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 import io.quarkus.qute.Results.Result;
 
 /**
  * Basic sequential {@code loop} statement.
+ * <p>
+ * By default, all elements are resolved at once. If the {@code concurrency} parameter is set, e.g.
+ * <code>{#for item in items concurrency=16}</code>, then at most the specified number of elements is resolved at a time.
+ * The results are always rendered in the order of iteration.
+ * <p>
+ * If the {@code chunk} parameter is set, e.g. <code>{#for row in rows chunk=100}</code>, then the elements are pulled
+ * from the iterator lazily when the result is flushed. Each chunk of elements is resolved, written to the output and
+ * released before the next chunk is pulled, i.e. the memory consumption does not depend on the number of elements. The
+ * rendering thread is never blocked while waiting for the chunk to be resolved. Note that if the loop is nested in a
+ * section that needs the complete result of its block, e.g. <code>{#cached}</code>, then all elements are resolved at
+ * once.
  */
-public class LoopSectionHelper implements SectionHelper {
+public class LoopSectionHelper implements ForwardingSectionHelper {
 
     private static final String DEFAULT_ALIAS = "it";
 
     private final String alias;
     private final Expression iterable;
+    // The max number of elements resolved at a time, 0 means no limit
+    private final int concurrency;
+    // The number of elements pulled at a time, 0 means all elements are pulled eagerly
+    private final int chunk;
 
-    LoopSectionHelper(String alias, Expression iterable) {
+    LoopSectionHelper(String alias, Expression iterable, int concurrency, int chunk) {
         this.alias = alias.equals(Parameter.EMPTY) ? DEFAULT_ALIAS : alias;
         this.iterable = Objects.requireNonNull(iterable);
+        this.concurrency = concurrency;
+        this.chunk = chunk;
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public CompletionStage<ResultNode> resolve(SectionResolutionContext context) {
-        return context.resolutionContext().evaluate(iterable).thenCompose(it -> {
-            // Ideally, we should not block here but we still need to retain the order of results 
-            List<CompletionStage<ResultNode>> results = new ArrayList<>();
-            Iterator<?> iterator;
-            if (it instanceof Iterable) {
-                iterator = ((Iterable<?>) it).iterator();
-            } else if (it instanceof Map) {
-                iterator = ((Map<?, ?>) it).entrySet().iterator();
-            } else if (it instanceof Stream) {
-                iterator = ((Stream<?>) it).sequential().iterator();
-            } else {
-                throw new IllegalStateException("Cannot iterate over: " + it);
-            }
-            int idx = 0;
-            while (iterator.hasNext()) {
-                results.add(nextElement(iterator.next(), idx++, iterator.hasNext(), context));
-            }
-            if (results.isEmpty()) {
-                return CompletableFuture.completedFuture(ResultNode.NOOP);
+        CompletionStage<Object> iterable = context.resolutionContext().evaluate(this.iterable);
+        if (Futures.isCompleted(iterable)) {
+            // Sync fast path - no need to compose the stages
+            try {
+                return resolveElements(Futures.getCompleted(iterable), context);
+            } catch (Throwable e) {
+                return Futures.failure(e);
             }
-            CompletableFuture<ResultNode> result = new CompletableFuture<>();
-            CompletableFuture<ResultNode>[] all = new CompletableFuture[results.size()];
-            idx = 0;
-            for (CompletionStage<ResultNode> r : results) {
-                all[idx++] = r.toCompletableFuture();
-            }
-            CompletableFuture
-                    .allOf(all)
-                    .whenComplete((v, t) -> {
-                        if (t != null) {
-                            result.completeExceptionally(t);
-                        } else {
-                            result.complete(new MultiResultNode(all));
-                        }
-                    });
-            return result;
-        });
+        }
+        return iterable.thenCompose(it -> resolveElements(it, context));
+    }
+
+    private Iterator<?> iterator(Object it) {
+        if (it instanceof Iterable) {
+            return ((Iterable<?>) it).iterator();
+        } else if (it instanceof Map) {
+            return ((Map<?, ?>) it).entrySet().iterator();
+        } else if (it instanceof Stream) {
+            return ((Stream<?>) it).sequential().iterator();
+        } else {
+            throw new IllegalStateException("Cannot iterate over: " + it);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private CompletionStage<ResultNode> resolveElements(Object it, SectionResolutionContext context) {
+        if (chunk > 0) {
+            // The elements are resolved when the result is flushed
+            return CompletableFuture.completedFuture(new ChunkedResultNode(it, context));
+        }
+        Iterator<?> iterator = iterator(it);
+        if (concurrency > 0) {
+            return new Window(iterator, context).start();
+        }
+        // Ideally, we should not block here but we still need to retain the order of results 
+        List<CompletionStage<ResultNode>> results = new ArrayList<>();
+        int idx = 0;
+        while (iterator.hasNext()) {
+            results.add(nextElement(iterator.next(), idx++, iterator.hasNext(), context));
+        }
+        if (results.isEmpty()) {
+            return CompletableFuture.completedFuture(ResultNode.NOOP);
+        }
+        CompletableFuture<ResultNode>[] all = new CompletableFuture[results.size()];
+        idx = 0;
+        for (CompletionStage<ResultNode> r : results) {
+            all[idx++] = r.toCompletableFuture();
+        }
+        return BlockResultNode.of(all, true);
     }
 
     CompletionStage<ResultNode> nextElement(Object element, int index, boolean hasNext, SectionResolutionContext context) {
@@ -81,12 +110,206 @@ public class LoopSectionHelper implements SectionHelper {
         return context.execute(child);
     }
 
+    /**
+     * Resolves the elements so that the number of elements being resolved never exceeds the concurrency limit. The next
+     * element is pulled from the iterator once the resolution of a previous element completes.
+     */
+    private final class Window {
+
+        private final Iterator<?> iterator;
+        private final SectionResolutionContext context;
+        private final CompletableFuture<ResultNode> result;
+        // Guarded by this
+        private final List<ResultNode> results;
+        private int inFlight;
+        private boolean finished;
+
+        Window(Iterator<?> iterator, SectionResolutionContext context) {
+            this.iterator = iterator;
+            this.context = context;
+            this.result = new CompletableFuture<>();
+            this.results = new ArrayList<>();
+        }
+
+        CompletionStage<ResultNode> start() {
+            fill();
+            return result;
+        }
+
+        private void fill() {
+            while (true) {
+                Object element;
+                int index;
+                boolean hasNext;
+                synchronized (this) {
+                    if (finished || inFlight >= concurrency) {
+                        return;
+                    }
+                    if (!iterator.hasNext()) {
+                        if (inFlight > 0) {
+                            return;
+                        }
+                        finished = true;
+                    }
+                    if (finished) {
+                        element = null;
+                        index = -1;
+                        hasNext = false;
+                    } else {
+                        element = iterator.next();
+                        index = results.size();
+                        hasNext = iterator.hasNext();
+                        results.add(null);
+                        inFlight++;
+                    }
+                }
+                if (index == -1) {
+                    // All elements are resolved
+                    result.complete(new MultiResultNode(results));
+                    return;
+                }
+                CompletableFuture<ResultNode> next;
+                try {
+                    // The element is only completed once all its results are resolved
+                    next = nextElement(element, index, hasNext, context).thenCompose(PendingResultNode::resolve)
+                            .toCompletableFuture();
+                } catch (Throwable e) {
+                    fail(e);
+                    return;
+                }
+                if (Futures.isCompleted(next)) {
+                    // Sync fast path - continue with the next element
+                    completed(index, next.join());
+                } else {
+                    next.whenComplete((r, t) -> {
+                        if (t != null) {
+                            fail(t);
+                        } else {
+                            completed(index, r);
+                            fill();
+                        }
+                    });
+                }
+            }
+        }
+
+        private synchronized void completed(int index, ResultNode node) {
+            results.set(index, node);
+            inFlight--;
+        }
+
+        private void fail(Throwable t) {
+            synchronized (this) {
+                if (finished) {
+                    return;
+                }
+                finished = true;
+            }
+            result.completeExceptionally(t);
+        }
+
+    }
+
+    /**
+     * Pulls the elements from the iterator in chunks. The chunk of results is flushed and released before the next chunk
+     * is pulled. A new iterator is obtained each time the node is flushed or resolved.
+     */
+    private final class ChunkedResultNode implements PendingResultNode {
+
+        private final Object iterable;
+        private final SectionResolutionContext context;
+
+        ChunkedResultNode(Object iterable, SectionResolutionContext context) {
+            this.iterable = iterable;
+            this.context = context;
+        }
+
+        @Override
+        public CompletionStage<Void> flush(Consumer<String> consumer) {
+            CompletableFuture<Void> flushed = new CompletableFuture<>();
+            try {
+                flush(iterator(iterable), 0, consumer, flushed);
+            } catch (Throwable e) {
+                flushed.completeExceptionally(e);
+            }
+            return flushed;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void flush(Iterator<?> iterator, int index, Consumer<String> consumer, CompletableFuture<Void> flushed) {
+            CompletionStage<Void> next = null;
+            int idx = index;
+            try {
+                List<CompletableFuture<ResultNode>> results = new ArrayList<>(chunk);
+                while (iterator.hasNext()) {
+                    boolean hasNext;
+                    do {
+                        Object element = iterator.next();
+                        hasNext = iterator.hasNext();
+                        results.add(nextElement(element, idx++, hasNext, context).toCompletableFuture());
+                    } while (hasNext && results.size() < chunk);
+                    CompletionStage<Void> chunkFlushed = PendingResultNode
+                            .flush(results.toArray(new CompletableFuture[results.size()]), consumer);
+                    results.clear();
+                    if (!Futures.isCompleted(chunkFlushed)) {
+                        next = chunkFlushed;
+                        break;
+                    }
+                }
+            } catch (Throwable e) {
+                flushed.completeExceptionally(e);
+                return;
+            }
+            if (next == null) {
+                flushed.complete(null);
+                return;
+            }
+            // Pull the next chunk once the current chunk is flushed
+            int nextIndex = idx;
+            next.whenComplete((r, t) -> {
+                if (t != null) {
+                    flushed.completeExceptionally(t);
+                } else {
+                    flush(iterator, nextIndex, consumer, flushed);
+                }
+            });
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public CompletionStage<ResultNode> resolved() {
+            // All the elements must be resolved at once
+            List<CompletableFuture<ResultNode>> results = new ArrayList<>();
+            try {
+                Iterator<?> iterator = iterator(iterable);
+                int idx = 0;
+                while (iterator.hasNext()) {
+                    results.add(nextElement(iterator.next(), idx++, iterator.hasNext(), context).toCompletableFuture());
+                }
+            } catch (Throwable e) {
+                return Futures.failure(e);
+            }
+            if (results.isEmpty()) {
+                return CompletableFuture.completedFuture(ResultNode.NOOP);
+            }
+            return BlockResultNode.of(results.toArray(new CompletableFuture[results.size()]), false);
+        }
+
+        @Override
+        public void process(Consumer<String> consumer) {
+            throw new IllegalStateException("Results not resolved yet");
+        }
+
+    }
+
     public static class Factory implements SectionHelperFactory<LoopSectionHelper> {
 
         public static final String HINT = "<for-element>";
         private static final String ALIAS = "alias";
         private static final String IN = "in";
         private static final String ITERABLE = "iterable";
+        private static final String CONCURRENCY = "concurrency";
+        private static final String CHUNK = "chunk";
 
         @Override
         public List<String> getDefaultAliases() {
@@ -104,7 +327,29 @@ public class LoopSectionHelper implements SectionHelper {
 
         @Override
         public LoopSectionHelper initialize(SectionInitContext context) {
-            return new LoopSectionHelper(context.getParameter(ALIAS), context.getExpression(ITERABLE));
+            int concurrency = getPositiveInt(context, CONCURRENCY);
+            int chunk = getPositiveInt(context, CHUNK);
+            if (concurrency > 0 && chunk > 0) {
+                throw new IllegalStateException("Loop concurrency and chunk parameters cannot be combined");
+            }
+            return new LoopSectionHelper(context.getParameter(ALIAS), context.getExpression(ITERABLE), concurrency, chunk);
+        }
+
+        private static int getPositiveInt(SectionInitContext context, String name) {
+            if (!context.hasParameter(name)) {
+                return 0;
+            }
+            String value = context.getParameter(name);
+            int result;
+            try {
+                result = Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                result = -1;
+            }
+            if (result < 1) {
+                throw new IllegalStateException("Invalid loop " + name + " - a positive integer expected: " + value);
+            }
+            return result;
         }
 
         @Override
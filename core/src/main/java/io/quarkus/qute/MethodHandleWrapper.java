@@ -0,0 +1,35 @@
+package io.quarkus.qute;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * The handle is adapted to {@code (Object)Object} so that it can be invoked with {@link MethodHandle#invokeExact(Object...)}.
+ * A static member ignores the instance.
+ */
+final class MethodHandleWrapper implements MemberWrapper {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private final MethodHandle handle;
+
+    MethodHandleWrapper(MethodHandle handle, boolean isStatic) {
+        if (isStatic) {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+        this.handle = handle.asType(GETTER_TYPE);
+    }
+
+    @Override
+    public Object getValue(Object instance) throws InvocationTargetException {
+        try {
+            return (Object) handle.invokeExact(instance);
+        } catch (Throwable e) {
+            // Consistent with Method.invoke()
+            throw new InvocationTargetException(e);
+        }
+    }
+
+}
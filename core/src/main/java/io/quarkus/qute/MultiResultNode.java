@@ -1,5 +1,6 @@
 package io.quarkus.qute;
 
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.function.Consumer;
@@ -20,6 +21,10 @@ public class MultiResultNode implements ResultNode {
         this.results = results;
     }
 
+    MultiResultNode(List<ResultNode> results) {
+        this.results = results.toArray(new ResultNode[0]);
+    }
+
     @Override
     public void process(Consumer<String> consumer) {
         for (ResultNode result : results) {
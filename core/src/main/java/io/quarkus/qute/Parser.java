@@ -1,6 +1,5 @@
 package io.quarkus.qute;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.Reader;
 import java.util.ArrayDeque;
@@ -41,6 +40,15 @@ class Parser implements Function<String, Expression> {
     private static final char LINE_SEPARATOR_CR = '\r';
     // DOS, OS/2, Microsoft Windows, etc. use CRLF
 
+    private static final int BUFFER_SIZE = 8192;
+
+    // Token format: kind, line, separator, content, e.g. "S12:#if foo"
+    private static final char TOKEN_TEXT = 'T';
+    private static final char TOKEN_TAG = 'S';
+    private static final char TOKEN_SEPARATOR = ':';
+    // A token may be stored as a string constant in the bytecode - the max length of UTF-8 encoded constant is 65535 bytes
+    static final int MAX_TEXT_TOKEN_LENGTH = 16384;
+
     private StringBuilder buffer;
     private State state;
     private int line;
@@ -51,6 +59,12 @@ class Parser implements Function<String, Expression> {
     private int sectionBlockIdx;
     private boolean ignoreContent;
     private String templateId;
+    // Not null if only tokenizing
+    private List<String> tokens;
+    // Adjacent text nodes are merged
+    private boolean mergeText;
+    // Not null if the whitespace of an HTML template is collapsed
+    private TextCompaction htmlCompaction;
 
     public Parser(EngineImpl engine) {
         this.engine = engine;
@@ -62,7 +76,7 @@ class Parser implements Function<String, Expression> {
                         .setHelperFactory(new SectionHelperFactory<SectionHelper>() {
                             @Override
                             public SectionHelper initialize(SectionInitContext context) {
-                                return new SectionHelper() {
+                                return new ForwardingSectionHelper() {
 
                                     @Override
                                     public CompletionStage<ResultNode> resolve(SectionResolutionContext context) {
@@ -82,56 +96,152 @@ class Parser implements Function<String, Expression> {
         this.line = 1;
     }
 
+    /**
+     * Adjacent text nodes, e.g. separated by a comment or a folded section, are merged into a single node.
+     * 
+     * @return self
+     */
+    Parser mergeText() {
+        this.mergeText = true;
+        return this;
+    }
+
+    /**
+     * Insignificant whitespace of an HTML template is collapsed.
+     * 
+     * @return self
+     * @see TextCompaction
+     */
+    Parser compactHtml() {
+        this.htmlCompaction = new TextCompaction();
+        return this;
+    }
+
     Template parse(Reader reader) {
         long start = System.currentTimeMillis();
         templateId = engine.generateId();
-        reader = ensureBufferedReader(reader);
-        try {
-            int val;
-            while ((val = reader.read()) != -1) {
-                processCharacter((char) val);
-            }
+        scan(reader);
+        Template template = buildTemplate();
+        LOGGER.trace("Parsing finished in {} ms", System.currentTimeMillis() - start);
+        return template;
+    }
 
-            if (buffer.length() > 0) {
-                if (state == State.TEXT) {
-                    // Flush the last text segment
-                    flushText();
-                } else {
-                    throw new IllegalStateException(
-                            "Unexpected non-text buffer at the end of the document (probably unterminated tag):" +
-                                    buffer);
-                }
+    /**
+     * Builds the template from the tokens produced by {@link #tokenize(Reader)}, i.e. no characters are scanned.
+     * 
+     * @param tokens
+     * @return the template
+     */
+    Template parse(TemplateTokens tokens) {
+        long start = System.currentTimeMillis();
+        templateId = engine.generateId();
+        for (String token : tokens.getTokens()) {
+            int separatorIdx = token.indexOf(TOKEN_SEPARATOR);
+            int tokenLine = Integer.parseInt(token.substring(1, separatorIdx));
+            if (token.charAt(0) == TOKEN_TEXT) {
+                // Consecutive text tokens form a single text node
+                buffer.append(token, separatorIdx + 1, token.length());
+                line = tokenLine;
+            } else if (token.charAt(0) == TOKEN_TAG) {
+                flushText();
+                line = tokenLine;
+                buffer.append(token, separatorIdx + 1, token.length());
+                flushTag();
+            } else {
+                throw new IllegalStateException("Invalid token: " + token);
             }
+        }
+        flushText();
+        Template template = buildTemplate();
+        LOGGER.trace("Parsing of {} tokens finished in {} ms", tokens.getTokens().size(), System.currentTimeMillis() - start);
+        return template;
+    }
 
-            SectionNode.Builder root = sectionStack.peek();
-            if (root == null) {
-                throw new IllegalStateException("No root section found!");
-            }
-            if (!root.helperName.equals(ROOT_HELPER_NAME)) {
-                throw new IllegalStateException("The last section on the stack is not a root but: " + root.helperName);
-            }
-            SectionBlock.Builder part = sectionBlockStack.peek();
-            if (part == null) {
-                throw new IllegalStateException("No root section part found!");
+    /**
+     * Scans the characters but does not build the template.
+     * 
+     * @param reader
+     * @return the list of text and tag tokens
+     * @see #parse(TemplateTokens)
+     */
+    static List<String> tokenize(Reader reader) {
+        Parser parser = new Parser(null);
+        parser.tokens = new ArrayList<>();
+        parser.scan(reader);
+        return parser.tokens;
+    }
+
+    /**
+     * 
+     * @param tokens
+     * @return the contents that produce the given tokens
+     * @see #tokenize(Reader)
+     */
+    static String toContent(List<String> tokens) {
+        StringBuilder content = new StringBuilder();
+        for (String token : tokens) {
+            int separatorIdx = token.indexOf(TOKEN_SEPARATOR);
+            if (token.charAt(0) == TOKEN_TEXT) {
+                content.append(token, separatorIdx + 1, token.length());
+            } else if (token.charAt(0) == TOKEN_TAG) {
+                content.append(START_DELIMITER).append(token, separatorIdx + 1, token.length()).append(END_DELIMITER);
+            } else {
+                throw new IllegalStateException("Invalid token: " + token);
             }
-            root.addBlock(part.build());
-            Template template = new TemplateImpl(engine, root.build(), templateId);
-            LOGGER.trace("Parsing finished in {} ms", System.currentTimeMillis() - start);
-            return template;
+        }
+        return content.toString();
+    }
 
+    private void scan(Reader reader) {
+        char[] chars = new char[BUFFER_SIZE];
+        try {
+            int read;
+            while ((read = reader.read(chars)) != -1) {
+                int idx = 0;
+                while (idx < read) {
+                    // Text and tag contents are scanned in bulk
+                    if (state == State.TEXT) {
+                        idx = text(chars, idx, read);
+                    } else if (state == State.TAG_INSIDE) {
+                        idx = tag(chars, idx, read);
+                    } else {
+                        processCharacter(chars[idx++]);
+                    }
+                }
+            }
         } catch (IOException e) {
             throw new IllegalStateException(e);
         }
+        if (buffer.length() > 0) {
+            if (state == State.TEXT) {
+                // Flush the last text segment
+                flushText();
+            } else {
+                throw new IllegalStateException(
+                        "Unexpected non-text buffer at the end of the document (probably unterminated tag):" +
+                                buffer);
+            }
+        }
+    }
+
+    private Template buildTemplate() {
+        SectionNode.Builder root = sectionStack.peek();
+        if (root == null) {
+            throw new IllegalStateException("No root section found!");
+        }
+        if (!root.helperName.equals(ROOT_HELPER_NAME)) {
+            throw new IllegalStateException("The last section on the stack is not a root but: " + root.helperName);
+        }
+        SectionBlock.Builder part = sectionBlockStack.peek();
+        if (part == null) {
+            throw new IllegalStateException("No root section part found!");
+        }
+        root.addBlock(part.build());
+        return new TemplateImpl(engine, root.build(), templateId);
     }
 
     private void processCharacter(char character) {
         switch (state) {
-            case TEXT:
-                text(character);
-                break;
-            case TAG_INSIDE:
-                tag(character);
-                break;
             case COMMENT:
                 comment(character);
                 break;
@@ -143,15 +253,56 @@ class Parser implements Function<String, Expression> {
         }
     }
 
-    private void text(char character) {
-        if (character == START_DELIMITER) {
-            state = State.TAG_CANDIDATE;
-        } else {
-            if (isLineSeparator(character)) {
+    /**
+     * Appends the text until the next start delimiter.
+     * 
+     * @param chars
+     * @param start
+     * @param end
+     * @return the index of the next char to process
+     */
+    private int text(char[] chars, int start, int end) {
+        int idx = start;
+        // The previous char is needed to detect CRLF
+        char previous = buffer.length() > 0 ? buffer.charAt(buffer.length() - 1) : 0;
+        while (idx < end) {
+            char character = chars[idx];
+            if (character == START_DELIMITER) {
+                break;
+            }
+            if (character == LINE_SEPARATOR_CR || (character == LINE_SEPARATOR_LF && previous != LINE_SEPARATOR_CR)) {
                 line++;
             }
-            buffer.append(character);
+            previous = character;
+            idx++;
+        }
+        buffer.append(chars, start, idx - start);
+        if (idx < end) {
+            state = State.TAG_CANDIDATE;
+            idx++;
+        }
+        return idx;
+    }
+
+    /**
+     * Appends the tag content until the end delimiter.
+     * 
+     * @param chars
+     * @param start
+     * @param end
+     * @return the index of the next char to process
+     */
+    private int tag(char[] chars, int start, int end) {
+        int idx = start;
+        while (idx < end && chars[idx] != END_DELIMITER) {
+            idx++;
+        }
+        buffer.append(chars, start, idx - start);
+        if (idx < end) {
+            flushTag();
+            idx++;
         }
+        return idx;
     }
 
     private void comment(char character) {
@@ -164,14 +315,6 @@ class Parser implements Function<String, Expression> {
         }
     }
 
-    private void tag(char character) {
-        if (character == END_DELIMITER) {
-            flushTag();
-        } else {
-            buffer.append(character);
-        }
-    }
-
     private void tagCandidate(char character) {
         if (Character.isWhitespace(character)) {
             buffer.append(START_DELIMITER).append(character);
@@ -197,17 +340,99 @@ class Parser implements Function<String, Expression> {
     }
 
     private void flushText() {
+        if (tokens != null) {
+            if (buffer.length() > 0) {
+                // Split the text so that a token never exceeds the max length
+                for (int i = 0; i < buffer.length(); i += MAX_TEXT_TOKEN_LENGTH) {
+                    tokens.add(TOKEN_TEXT + "" + line + TOKEN_SEPARATOR
+                            + buffer.substring(i, Math.min(buffer.length(), i + MAX_TEXT_TOKEN_LENGTH)));
+                }
+            }
+            this.buffer = new StringBuilder();
+            return;
+        }
         if (buffer.length() > 0 && !ignoreContent) {
-            SectionBlock.Builder block = sectionBlockStack.peek();
-            block.addNode(new TextNode(buffer.toString(), new OriginImpl(line, templateId)));
+            String text = buffer.toString();
+            boolean collapse = false;
+            if (htmlCompaction != null) {
+                collapse = htmlCompaction.isCollapsing();
+                text = htmlCompaction.compact(text);
+            }
+            addNode(sectionBlockStack.peek(), new TextNode(text, new OriginImpl(line, templateId)), collapse);
         }
         this.buffer = new StringBuilder();
     }
 
+    /**
+     * If enabled, adjacent text nodes are merged and empty text nodes are skipped.
+     * 
+     * @param block
+     * @param node
+     * @param collapse {@code true} if the whitespace between two text nodes may be collapsed
+     */
+    private void addNode(SectionBlock.Builder block, TemplateNode node, boolean collapse) {
+        if (!mergeText || !(node instanceof TextNode)) {
+            block.addNode(node);
+            return;
+        }
+        TemplateNode last = block.getLastNode();
+        if (last instanceof TextNode) {
+            TextNode previous = (TextNode) last;
+            block.replaceLastNode(new TextNode(
+                    TextCompaction.join(previous.getValue(), ((TextNode) node).getValue(), collapse),
+                    previous.getOrigin()));
+        } else if (!((TextNode) node).getValue().isEmpty()) {
+            block.addNode(node);
+        }
+    }
+
+    /**
+     * The nodes of a section with constant result, e.g. {@code {#if true}}, are added to the parent block directly.
+     * 
+     * @param block
+     * @param section
+     */
+    private void addSection(SectionBlock.Builder block, SectionNode section) {
+        List<TemplateNode> nodes = section.getHelper() instanceof IfSectionHelper
+                ? ((IfSectionHelper) section.getHelper()).getConstantNodes()
+                : null;
+        if (nodes == null) {
+            block.addNode(section);
+        } else {
+            for (TemplateNode node : nodes) {
+                addNode(block, node, false);
+            }
+        }
+    }
+
+    /**
+     * The value of a literal expression, e.g. {@code {'foo'}}, is rendered upfront.
+     * 
+     * @param block
+     * @param expression
+     */
+    private void addExpression(SectionBlock.Builder block, ExpressionNode expression) {
+        if (expression.expression.literal != null) {
+            StringBuilder text = new StringBuilder();
+            new SingleResultNode(expression.expression.literal.join(), expression).process(text::append);
+            if (text.length() > 0) {
+                addNode(block, new TextNode(text.toString(), expression.getOrigin()), false);
+            }
+        } else {
+            block.addNode(expression);
+        }
+    }
+
     private void flushTag() {
         state = State.TEXT;
         String content = buffer.toString();
 
+        if (tokens != null) {
+            tokens.add(TOKEN_TAG + "" + line + TOKEN_SEPARATOR + content);
+            this.buffer = new StringBuilder();
+            return;
+        }
+
         if (content.charAt(0) == Tag.SECTION.getCommand()) {
 
             boolean isEmptySection = false;
@@ -244,7 +469,7 @@ class Parser implements Function<String, Expression> {
                 // Remove the block from the stack
                 sectionBlockStack.pop();
                 // Add node to the parent block
-                sectionBlockStack.peek().addNode(sectionNode.build());
+                addSection(sectionBlockStack.peek(), sectionNode.build());
             } else {
                 if (!result.isEmpty()) {
                     // The section modifies the type info stack
@@ -313,7 +538,7 @@ class Parser implements Function<String, Expression> {
                 if (!ignoreContent) {
                     section.addBlock(sectionBlockStack.pop().build());
                 }
-                sectionBlockStack.peek().addNode(section.build());
+                addSection(sectionBlockStack.peek(), section.build());
             }
 
             // Remove the last type info map from the stack
@@ -329,7 +554,7 @@ class Parser implements Function<String, Expression> {
             typeInfos.put(key, "[" + value + "]");
 
         } else {
-            sectionBlockStack.peek().addNode(new ExpressionNode(apply(content), engine, new OriginImpl(line, templateId)));
+            addExpression(sectionBlockStack.peek(), new ExpressionNode(apply(content), engine, new OriginImpl(line, templateId)));
         }
         this.buffer = new StringBuilder();
     }
@@ -417,12 +642,6 @@ class Parser implements Function<String, Expression> {
         return -1;
     }
 
-    private Reader ensureBufferedReader(Reader reader) {
-        return reader instanceof BufferedReader ? reader
-                : new BufferedReader(
-                        reader);
-    }
-
     static Iterator<String> splitSectionParams(String content) {
 
         boolean stringLiteral = false;
@@ -509,6 +728,18 @@ class Parser implements Function<String, Expression> {
     }
 
     public static Expression parseExpression(String value, Map<String, String> typeInfos, Origin origin) {
+        return parseExpression(value, typeInfos, origin, null);
+    }
+
+    /**
+     *
+     * @param value
+     * @param typeInfos
+     * @param origin
+     * @param engine If set then the location-independent part of the expression is interned
+     * @return the expression
+     */
+    static Expression parseExpression(String value, Map<String, String> typeInfos, Origin origin, EngineImpl engine) {
         if (value == null || value.isEmpty()) {
             return Expression.EMPTY;
         }
@@ -548,7 +779,8 @@ class Parser implements Function<String, Expression> {
                 }
             }
         }
-        return new Expression(namespace, parts, literal, typeCheckInfo, origin);
+        Expression.Core core = new Expression.Core(namespace, parts, literal, typeCheckInfo);
+        return new Expression(engine != null ? engine.intern(core) : core, origin);
     }
 
     static boolean isSeparator(char candidate) {
@@ -571,7 +803,7 @@ class Parser implements Function<String, Expression> {
 
     @Override
     public Expression apply(String value) {
-        return parseExpression(value, typeInfoStack.peek(), new OriginImpl(line, templateId));
+        return parseExpression(value, typeInfoStack.peek(), new OriginImpl(line, templateId), engine);
     }
 
     static class OriginImpl implements Origin {
@@ -0,0 +1,97 @@
+package io.quarkus.qute;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Consumer;
+
+/**
+ * A result node that may not be resolved yet. The output of such a node is flushed incrementally, i.e. the completed
+ * leading results are passed to the consumer before the remaining results are resolved.
+ * <p>
+ * {@link #process(Consumer)} may only be called on a resolved node.
+ *
+ * @see ForwardingSectionHelper
+ */
+interface PendingResultNode extends ResultNode {
+
+    /**
+     * 
+     * @param consumer
+     * @return a completion stage completed once all the output is passed to the consumer
+     */
+    CompletionStage<Void> flush(Consumer<String> consumer);
+
+    /**
+     * 
+     * @return a completion stage completed with the resolved node
+     */
+    CompletionStage<ResultNode> resolved();
+
+    static CompletionStage<Void> flush(ResultNode node, Consumer<String> consumer) {
+        if (node instanceof PendingResultNode) {
+            return ((PendingResultNode) node).flush(consumer);
+        }
+        try {
+            node.process(consumer);
+        } catch (Throwable e) {
+            return Futures.failure(e);
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    static CompletionStage<ResultNode> resolve(ResultNode node) {
+        if (node instanceof PendingResultNode) {
+            return ((PendingResultNode) node).resolved();
+        }
+        return CompletableFuture.completedFuture(node);
+    }
+
+    /**
+     * The results are flushed in order. A flushed result is released immediately.
+     * 
+     * @param results
+     * @param consumer
+     * @return a completion stage completed once all the output is passed to the consumer
+     */
+    static CompletionStage<Void> flush(CompletableFuture<ResultNode>[] results, Consumer<String> consumer) {
+        CompletableFuture<Void> flushed = new CompletableFuture<>();
+        flush(results, 0, consumer, flushed);
+        return flushed;
+    }
+
+    static void flush(CompletableFuture<ResultNode>[] results, int index, Consumer<String> consumer,
+            CompletableFuture<Void> flushed) {
+        CompletionStage<?> next = null;
+        try {
+            while (index < results.length) {
+                if (!Futures.isCompleted(results[index])) {
+                    next = results[index];
+                    break;
+                }
+                CompletionStage<Void> result = flush(results[index].join(), consumer);
+                // The result tree is not needed anymore
+                results[index++] = null;
+                if (!Futures.isCompleted(result)) {
+                    next = result;
+                    break;
+                }
+            }
+        } catch (Throwable e) {
+            flushed.completeExceptionally(e);
+            return;
+        }
+        if (next == null) {
+            flushed.complete(null);
+            return;
+        }
+        int nextIndex = index;
+        next.whenComplete((r, t) -> {
+            if (t != null) {
+                flushed.completeExceptionally(t);
+            } else {
+                flush(results, nextIndex, consumer, flushed);
+            }
+        });
+    }
+
+}
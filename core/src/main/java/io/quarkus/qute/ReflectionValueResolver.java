@@ -1,28 +1,65 @@
 package io.quarkus.qute;
 
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Array;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.Collections;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 public class ReflectionValueResolver implements ValueResolver {
 
-    /**
-     * Lazy loading cache of lookup attempts (contains both hits and misses)
-     */
-    private final ConcurrentMap<MemberKey, Optional<MemberWrapper>> memberCache = new ConcurrentHashMap<>();
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReflectionValueResolver.class);
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
 
     private static final MemberWrapper ARRAY_GET_LENGTH = Array::getLength;
 
+    // Marks a lookup miss
+    private static final MemberWrapper NOT_FOUND = instance -> null;
+
     public static final String GET_PREFIX = "get";
     public static final String IS_PREFIX = "is";
 
+    private final AccessStrategy accessStrategy;
+
+    /**
+     * Lazy loading cache of lookup attempts (contains both hits and misses). The members are attached to the class and
+     * reclaimed together with the class.
+     */
+    private volatile ClassValue<ClassMembers> memberCache;
+
+    // Used to compute the size of the cache; the members of unloaded classes are removed automatically
+    private final Set<ClassMembers> allMembers;
+
+    public ReflectionValueResolver() {
+        this(AccessStrategy.LAMBDA);
+    }
+
+    /**
+     *
+     * @param accessStrategy
+     */
+    public ReflectionValueResolver(AccessStrategy accessStrategy) {
+        this.accessStrategy = Objects.requireNonNull(accessStrategy);
+        this.allMembers = Collections.newSetFromMap(new WeakHashMap<>());
+        this.memberCache = newMemberCache();
+    }
+
     @Override
     public int getPriority() {
         return -1;
@@ -33,14 +70,31 @@ public class ReflectionValueResolver implements ValueResolver {
         return context.getBase() != null;
     }
 
+    @Override
+    public boolean isAppliesToCacheable() {
+        return true;
+    }
+
+    @Override
+    public Set<Class<?>> getAppliesToBaseTypes() {
+        return Collections.singleton(Object.class);
+    }
+
     @Override
     public CompletionStage<Object> resolve(EvalContext context) {
 
         Object base = context.getBase();
-        MemberKey key = MemberKey.newInstance(base, context.getName());
-        MemberWrapper wrapper = memberCache.computeIfAbsent(key, ReflectionValueResolver::findWrapper).orElse(null);
-
+        ClassValue<ClassMembers> cache = memberCache;
+        MemberWrapper wrapper = null;
+        if (base instanceof Class<?> && ((Class<?>) base).isEnum()) {
+            // Special handling for enums - allows to access values() and constants
+            wrapper = cache.get((Class<?>) base).getEnumMember(context.getName());
+        }
         if (wrapper == null) {
+            wrapper = cache.get(base.getClass()).getMember(context.getName());
+        }
+
+        if (wrapper == NOT_FOUND) {
             return Results.NOT_FOUND;
         }
 
@@ -52,39 +106,137 @@ public class ReflectionValueResolver implements ValueResolver {
     }
 
     public void clearMemberCache() {
-        memberCache.clear();
+        synchronized (allMembers) {
+            allMembers.clear();
+            memberCache = newMemberCache();
+        }
+    }
+
+    /**
+     *
+     * @return the number of cached lookup attempts (contains both hits and misses)
+     */
+    public int getMemberCacheSize() {
+        int size = 0;
+        synchronized (allMembers) {
+            for (ClassMembers members : allMembers) {
+                size += members.size();
+            }
+        }
+        return size;
+    }
+
+    private ClassValue<ClassMembers> newMemberCache() {
+        return new ClassValue<ClassMembers>() {
+            @Override
+            protected ClassMembers computeValue(Class<?> type) {
+                ClassMembers members = new ClassMembers(type, accessStrategy);
+                synchronized (allMembers) {
+                    allMembers.add(members);
+                }
+                return members;
+            }
+        };
     }
 
-    private static Optional<MemberWrapper> findWrapper(MemberKey key) {
+    private static MemberWrapper findWrapper(Class<?> clazz, String name, AccessStrategy accessStrategy) {
 
-        if (key.getClazz().isArray()) {
-            if (key.getName().equals("length")) {
-                return Optional.of(ARRAY_GET_LENGTH);
+        if (clazz.isArray()) {
+            if (name.equals("length")) {
+                return ARRAY_GET_LENGTH;
             } else {
-                return Optional.empty();
+                return NOT_FOUND;
             }
         }
 
-        Method foundMethod = findMethod(key.getClazz(), key.getName());
+        Method foundMethod = findMethod(clazz, name);
 
         if (foundMethod != null) {
             if (!foundMethod.isAccessible()) {
                 foundMethod.setAccessible(true);
             }
-            return Optional.of(new MethodWrapper(foundMethod));
+            return wrap(foundMethod, accessStrategy);
         }
 
         // Find public field
-        Field foundField = findField(key.getClazz(), key.getName());
+        Field foundField = findField(clazz, name);
 
         if (foundField != null) {
             if (!foundField.isAccessible()) {
                 foundField.setAccessible(true);
             }
-            return Optional.of(new FieldWrapper(foundField));
+            return wrap(foundField, accessStrategy);
         }
         // Member not found
-        return Optional.empty();
+        return NOT_FOUND;
+    }
+
+    private static MemberWrapper findEnumMember(Class<?> enumClazz, String name, AccessStrategy accessStrategy) {
+        if ("values".equals(name)) {
+            return findWrapper(enumClazz, name, accessStrategy);
+        }
+        for (Object constant : enumClazz.getEnumConstants()) {
+            if (name.equals(constant.toString())) {
+                return findWrapper(enumClazz, name, accessStrategy);
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    private static MemberWrapper wrap(Method method, AccessStrategy accessStrategy) {
+        boolean isStatic = Modifier.isStatic(method.getModifiers());
+        if (accessStrategy == AccessStrategy.REFLECTION) {
+            return new MethodWrapper(method);
+        }
+        MethodHandle handle;
+        try {
+            handle = LOOKUP.unreflect(method);
+        } catch (IllegalAccessException e) {
+            LOGGER.debug("Unable to create a method handle for {}", method, e);
+            return new MethodWrapper(method);
+        }
+        if (accessStrategy == AccessStrategy.LAMBDA && !isStatic && isLinkable(method)) {
+            try {
+                CallSite callSite = LambdaMetafactory.metafactory(LOOKUP, "getValue",
+                        MethodType.methodType(MemberWrapper.class), MethodType.methodType(Object.class, Object.class),
+                        handle, MethodType.methodType(Object.class, method.getDeclaringClass()));
+                return (MemberWrapper) callSite.getTarget().invoke();
+            } catch (Throwable e) {
+                LOGGER.debug("Unable to generate an accessor for {}", method, e);
+            }
+        }
+        return new MethodHandleWrapper(handle, isStatic);
+    }
+
+    private static MemberWrapper wrap(Field field, AccessStrategy accessStrategy) {
+        if (accessStrategy != AccessStrategy.REFLECTION) {
+            try {
+                return new MethodHandleWrapper(LOOKUP.unreflectGetter(field), Modifier.isStatic(field.getModifiers()));
+            } catch (IllegalAccessException e) {
+                LOGGER.debug("Unable to create a method handle for {}", field, e);
+            }
+        }
+        return new FieldWrapper(field);
+    }
+
+    /**
+     * The generated accessor is defined in the package of this class and invokes the method directly. Therefore, the
+     * declaring class must be public and visible from the class loader of this class.
+     */
+    private static boolean isLinkable(Method method) {
+        return Modifier.isPublic(method.getDeclaringClass().getModifiers()) && isVisible(method.getDeclaringClass())
+                && isVisible(method.getReturnType());
+    }
+
+    private static boolean isVisible(Class<?> clazz) {
+        if (clazz.isPrimitive()) {
+            return true;
+        }
+        try {
+            return Class.forName(clazz.getName(), false, ReflectionValueResolver.class.getClassLoader()) == clazz;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
     }
 
     private static Method findMethod(Class<?> clazz, String name) {
@@ -172,4 +324,71 @@ public class ReflectionValueResolver implements ValueResolver {
         return new String(chars);
     }
 
+    /**
+     * Members of a single class. The maps are only populated for the names used in templates and so they remain small.
+     * Note that this class must not reference the resolver, otherwise the {@link ClassValue} would never be reclaimed.
+     */
+    static final class ClassMembers {
+
+        private final Class<?> clazz;
+        private final AccessStrategy accessStrategy;
+        private final ConcurrentMap<String, MemberWrapper> members;
+        // Static members accessed on the enum class itself, i.e. values() and constants
+        private final ConcurrentMap<String, MemberWrapper> enumMembers;
+
+        ClassMembers(Class<?> clazz, AccessStrategy accessStrategy) {
+            this.clazz = clazz;
+            this.accessStrategy = accessStrategy;
+            this.members = new ConcurrentHashMap<>();
+            this.enumMembers = clazz.isEnum() ? new ConcurrentHashMap<>() : null;
+        }
+
+        MemberWrapper getMember(String name) {
+            MemberWrapper wrapper = members.get(name);
+            if (wrapper == null) {
+                wrapper = members.computeIfAbsent(name, n -> findWrapper(clazz, n, accessStrategy));
+            }
+            return wrapper;
+        }
+
+        /**
+         *
+         * @param name
+         * @return the wrapper or {@code null} if no such static member exists
+         */
+        MemberWrapper getEnumMember(String name) {
+            MemberWrapper wrapper = enumMembers.get(name);
+            if (wrapper == null) {
+                wrapper = enumMembers.computeIfAbsent(name, n -> findEnumMember(clazz, n, accessStrategy));
+            }
+            return wrapper != NOT_FOUND ? wrapper : null;
+        }
+
+        int size() {
+            return members.size() + (enumMembers != null ? enumMembers.size() : 0);
+        }
+
+    }
+
+    /**
+     * Determines how the value of a member is obtained.
+     */
+    public enum AccessStrategy {
+
+        /**
+         * {@link Method#invoke(Object, Object...)} and {@link Field#get(Object)}.
+         */
+        REFLECTION,
+        /**
+         * A {@link MethodHandle} per member.
+         */
+        METHOD_HANDLE,
+        /**
+         * An accessor generated with {@link LambdaMetafactory} for public methods of classes visible from the class loader of
+         * the resolver; {@link #METHOD_HANDLE} is used for other members.
+         */
+        LAMBDA,
+
+    }
+
 }
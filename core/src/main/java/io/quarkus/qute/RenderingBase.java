@@ -32,6 +32,11 @@ public abstract class RenderingBase implements Rendering {
         return this;
     }
     
+    @Override
+    public Object getData() {
+        return data();
+    }
+
     @Override
     public Rendering setAttribute(String key, Object value) {
         attributes.put(key, value);
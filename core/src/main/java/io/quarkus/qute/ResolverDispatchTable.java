@@ -0,0 +1,89 @@
+package io.quarkus.qute;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Candidate value resolvers per class of the base object and name. The resolvers that declare the base types or names
+ * they apply to are skipped if not applicable. The candidates are kept in the order of priority.
+ *
+ * @see ValueResolver#getAppliesToBaseTypes()
+ * @see ValueResolver#getAppliesToNames()
+ */
+final class ResolverDispatchTable {
+
+    private final List<ValueResolver> resolvers;
+    private final Set<Class<?>>[] baseTypes;
+    private final Set<String>[] names;
+    private final ClassValue<ConcurrentMap<String, InlineCache.Entry>> table;
+    // Used for null base objects
+    private final ConcurrentMap<String, InlineCache.Entry> nullBaseEntries;
+
+    @SuppressWarnings("unchecked")
+    ResolverDispatchTable(List<ValueResolver> resolvers) {
+        this.resolvers = resolvers;
+        // Declared types and names are only read once
+        this.baseTypes = new Set[resolvers.size()];
+        this.names = new Set[resolvers.size()];
+        for (int i = 0; i < resolvers.size(); i++) {
+            baseTypes[i] = resolvers.get(i).getAppliesToBaseTypes();
+            names[i] = resolvers.get(i).getAppliesToNames();
+        }
+        this.table = new ClassValue<ConcurrentMap<String, InlineCache.Entry>>() {
+            @Override
+            protected ConcurrentMap<String, InlineCache.Entry> computeValue(Class<?> type) {
+                return new ConcurrentHashMap<>();
+            }
+        };
+        this.nullBaseEntries = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Note that {@link ValueResolver#appliesTo(EvalContext)} must be tested for all candidates because the result may
+     * depend on the number of params.
+     *
+     * @param baseClass
+     * @param name
+     * @return the entry with the candidate resolvers
+     */
+    InlineCache.Entry get(Class<?> baseClass, String name) {
+        ConcurrentMap<String, InlineCache.Entry> entries = baseClass != null ? table.get(baseClass) : nullBaseEntries;
+        InlineCache.Entry entry = entries.get(name);
+        if (entry == null) {
+            entry = entries.computeIfAbsent(name, n -> createEntry(baseClass, n));
+        }
+        return entry;
+    }
+
+    private InlineCache.Entry createEntry(Class<?> baseClass, String name) {
+        List<ValueResolver> candidates = new ArrayList<>();
+        for (int i = 0; i < baseTypes.length; i++) {
+            if (isApplicable(baseTypes[i], baseClass) && (names[i] == null || names[i].contains(name))) {
+                candidates.add(resolvers.get(i));
+            }
+        }
+        boolean[] testAppliesTo = new boolean[candidates.size()];
+        Arrays.fill(testAppliesTo, true);
+        return new InlineCache.Entry(baseClass, resolvers, candidates.toArray(new ValueResolver[0]), testAppliesTo);
+    }
+
+    private static boolean isApplicable(Set<Class<?>> baseTypes, Class<?> baseClass) {
+        if (baseTypes == null) {
+            return true;
+        }
+        if (baseClass == null) {
+            return false;
+        }
+        for (Class<?> baseType : baseTypes) {
+            if (baseType.isAssignableFrom(baseClass)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
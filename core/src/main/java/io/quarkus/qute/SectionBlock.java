@@ -80,6 +80,19 @@ public class SectionBlock {
             return this;
         }
 
+        /**
+         *
+         * @return the last node or {@code null} if no node was added yet
+         */
+        TemplateNode getLastNode() {
+            return nodes.isEmpty() ? null : nodes.get(nodes.size() - 1);
+        }
+
+        SectionBlock.Builder replaceLastNode(TemplateNode node) {
+            nodes.set(nodes.size() - 1, node);
+            return this;
+        }
+
         SectionBlock.Builder addNodes(TemplateNode... nodes) {
             Collections.addAll(this.nodes, nodes);
             return this;
@@ -34,6 +34,10 @@ class SectionNode implements TemplateNode {
         return helper.resolve(new SectionResolutionContextImpl(context));
     }
 
+    SectionHelper getHelper() {
+        return helper;
+    }
+
     public Origin getOrigin() {
         return origin;
     }
@@ -103,25 +107,20 @@ class SectionNode implements TemplateNode {
                 block = blocks.get(0);
             }
             if (block.nodes.size() == 1) {
-                return block.nodes.get(0).resolve(context);
+                CompletionStage<ResultNode> result = block.nodes.get(0).resolve(context);
+                if (helper instanceof ForwardingSectionHelper || (Futures.isCompleted(result)
+                        && !(Futures.getCompleted(result) instanceof PendingResultNode))) {
+                    return result;
+                }
+                return result.thenCompose(PendingResultNode::resolve);
             }
-            CompletableFuture<ResultNode> result = new CompletableFuture<ResultNode>();
             @SuppressWarnings("unchecked")
             CompletableFuture<ResultNode>[] results = new CompletableFuture[block.nodes.size()];
             int idx = 0;
             for (TemplateNode node : block.nodes) {
                 results[idx++] = node.resolve(context).toCompletableFuture();
             }
-            CompletableFuture
-                    .allOf(results)
-                    .whenComplete((v, t) -> {
-                        if (t != null) {
-                            result.completeExceptionally(t);
-                        } else {
-                            result.complete(new MultiResultNode(results));
-                        }
-                    });
-            return result;
+            return BlockResultNode.of(results, helper instanceof ForwardingSectionHelper);
         }
 
         @Override
@@ -14,7 +14,7 @@ import java.util.stream.Collectors;
 /**
  * Basic {@code set} statement.
  */
-public class SetSectionHelper implements SectionHelper {
+public class SetSectionHelper implements ForwardingSectionHelper {
 
     private static final String SET = "set";
 
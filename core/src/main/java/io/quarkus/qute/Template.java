@@ -1,5 +1,9 @@
 package io.quarkus.qute;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Set;
 import java.util.concurrent.CompletionStage;
 import java.util.function.Consumer;
@@ -69,6 +73,23 @@ public interface Template {
          */
         Rendering putData(String key, Object data);
 
+        /**
+         * 
+         * @return the root context object, i.e. the object set by {@link #setData(Object)} or the map produced by
+         *         {@link #putData(String, Object)}, or {@code null} if not supported
+         */
+        default Object getData() {
+            return null;
+        }
+
+        /**
+         * 
+         * @return the template that is rendered or {@code null} if not known
+         */
+        default Template getTemplate() {
+            return null;
+        }
+
         /**
          * 
          * @param key
@@ -107,13 +128,62 @@ public interface Template {
         Publisher<String> publisher();
 
         /**
-         * Triggers rendering.
+         * Triggers rendering. The chunks of the rendered template are consumed incrementally, i.e. the leading parts of
+         * the template are consumed as soon as they are resolved.
          * 
          * @param consumer To consume chunks of the rendered template
          * @return a completion stage that is completed once the rendering finished
          */
         CompletionStage<Void> consume(Consumer<String> consumer);
 
+        /**
+         * Triggers rendering. The chunks of the rendered template are appended incrementally.
+         * 
+         * @param appendable For example a {@link StringBuilder} or a {@link java.io.Writer}
+         * @return a completion stage that is completed once the rendering finished
+         * @see #consume(Consumer)
+         */
+        default CompletionStage<Void> appendTo(Appendable appendable) {
+            return consume(chunk -> {
+                try {
+                    appendable.append(chunk);
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        }
+
+        /**
+         * Triggers rendering. The chunks of the rendered template are encoded in UTF-8 and written incrementally. The
+         * stream is neither flushed nor closed.
+         * 
+         * @param out
+         * @return a completion stage that is completed once the rendering finished
+         * @see #consume(Consumer)
+         */
+        default CompletionStage<Void> writeTo(OutputStream out) {
+            return consume(chunk -> {
+                try {
+                    out.write(chunk.getBytes(StandardCharsets.UTF_8));
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        }
+
+        /**
+         * Triggers rendering. The chunks of the rendered template are encoded in UTF-8 and consumed incrementally. The
+         * buffers may be read-only and shared, i.e. the consumer must not keep a reference to a buffer once the
+         * {@link Consumer#accept(Object)} method returns.
+         * 
+         * @param consumer To consume UTF-8 encoded chunks of the rendered template
+         * @return a completion stage that is completed once the rendering finished
+         * @see #consume(Consumer)
+         */
+        default CompletionStage<Void> consumeBytes(Consumer<ByteBuffer> consumer) {
+            return consume(chunk -> consumer.accept(ByteBuffer.wrap(chunk.getBytes(StandardCharsets.UTF_8))));
+        }
+
     }
 
 }
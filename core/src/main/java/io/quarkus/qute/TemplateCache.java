@@ -0,0 +1,236 @@
+package io.quarkus.qute;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * Cache of templates used by an {@link Engine}. By default, the cache is unbounded.
+ *
+ * @see EngineBuilder#templateCache(TemplateCache)
+ * @see #builder()
+ */
+public interface TemplateCache {
+
+    /**
+     *
+     * @return a builder for a bounded cache
+     */
+    static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Weighs the number of template nodes.
+     *
+     * @param template
+     * @return the weight
+     * @see Builder#weigher(ToLongFunction)
+     */
+    static long nodeCount(Template template) {
+        return template instanceof TemplateImpl ? ((TemplateImpl) template).weigh(false) : 1;
+    }
+
+    /**
+     * Weighs the number of template nodes where a text node weighs the number of UTF-8 encoded bytes.
+     *
+     * @param template
+     * @return the weight
+     * @see Builder#weigher(ToLongFunction)
+     */
+    static long textLength(Template template) {
+        return template instanceof TemplateImpl ? ((TemplateImpl) template).weigh(true) : 1;
+    }
+
+    /**
+     *
+     * @param id
+     * @return the cached template or {@code null}
+     */
+    Template get(String id);
+
+    /**
+     * Unlike {@link #get(String)}, the statistics and the order of eviction are not affected.
+     *
+     * @param id
+     * @return {@code true} if a template is cached for the given id
+     */
+    default boolean contains(String id) {
+        return get(id) != null;
+    }
+
+    /**
+     *
+     * @param id
+     * @param template
+     * @return the previous value or null
+     */
+    Template put(String id, Template template);
+
+    /**
+     * Removes all templates.
+     */
+    void clear();
+
+    /**
+     * Removes the templates for which the id matches the given predicate.
+     *
+     * @param test
+     */
+    void removeIf(Predicate<String> test);
+
+    /**
+     * A pinned template is never evicted, e.g. a template used by {@link UserTagSectionHelper}.
+     *
+     * @param id
+     */
+    default void pin(String id) {
+        // No eviction by default
+    }
+
+    /**
+     *
+     * @return the current statistics
+     */
+    Stats getStats();
+
+    /**
+     * Cache statistics.
+     */
+    final class Stats {
+
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final long size;
+        private final long weight;
+
+        public Stats(long hits, long misses, long evictions, long size, long weight) {
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.size = size;
+            this.weight = weight;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        /**
+         *
+         * @return the number of templates removed because of the size limit or expiration
+         */
+        public long getEvictions() {
+            return evictions;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        /**
+         *
+         * @return the total weight of cached templates that are not pinned
+         */
+        public long getWeight() {
+            return weight;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder();
+            builder.append("Stats [hits=").append(hits).append(", misses=").append(misses).append(", evictions=")
+                    .append(evictions).append(", size=").append(size).append(", weight=").append(weight).append("]");
+            return builder.toString();
+        }
+
+    }
+
+    /**
+     * Builder for a bounded cache. The least recently used templates are evicted first. Note that an evicted template is
+     * loaded again by the template locators, i.e. the templates registered via {@link Engine#putTemplate(String, Template)}
+     * should be pinned.
+     */
+    final class Builder {
+
+        private long maximumWeight = Long.MAX_VALUE;
+        private ToLongFunction<Template> weigher = t -> 1;
+        private long ttlNanos = 0;
+        private Predicate<String> pinned = id -> false;
+        private LongSupplier ticker = System::nanoTime;
+
+        Builder() {
+        }
+
+        /**
+         * By default, each template weighs 1, i.e. the maximum weight is the maximum number of templates.
+         *
+         * @param maximumWeight
+         * @return self
+         * @see #weigher(ToLongFunction)
+         */
+        public Builder maximumWeight(long maximumWeight) {
+            if (maximumWeight < 0) {
+                throw new IllegalArgumentException("Maximum weight must not be negative: " + maximumWeight);
+            }
+            this.maximumWeight = maximumWeight;
+            return this;
+        }
+
+        /**
+         *
+         * @param weigher
+         * @return self
+         * @see TemplateCache#nodeCount(Template)
+         * @see TemplateCache#textLength(Template)
+         */
+        public Builder weigher(ToLongFunction<Template> weigher) {
+            this.weigher = Objects.requireNonNull(weigher);
+            return this;
+        }
+
+        /**
+         * A template is removed once the specified duration has elapsed after it was cached. Pinned templates never expire.
+         *
+         * @param duration
+         * @param unit
+         * @return self
+         */
+        public Builder ttl(long duration, TimeUnit unit) {
+            if (duration <= 0) {
+                throw new IllegalArgumentException("Time-to-live must be positive: " + duration);
+            }
+            this.ttlNanos = unit.toNanos(duration);
+            return this;
+        }
+
+        /**
+         *
+         * @param pinned
+         * @return self
+         * @see TemplateCache#pin(String)
+         */
+        public Builder pinned(Predicate<String> pinned) {
+            this.pinned = Objects.requireNonNull(pinned);
+            return this;
+        }
+
+        Builder ticker(LongSupplier ticker) {
+            this.ticker = ticker;
+            return this;
+        }
+
+        public TemplateCache build() {
+            return new BoundedTemplateCache(maximumWeight, weigher, ttlNanos, pinned, ticker);
+        }
+
+    }
+
+}
@@ -1,5 +1,7 @@
 package io.quarkus.qute;
 
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
@@ -38,8 +40,38 @@ class TemplateImpl implements Template {
         return generatedId;
     }
 
+    /**
+     * 
+     * @param textLength If set to {@code true} a text node weighs the number of UTF-8 encoded bytes, otherwise 1
+     * @return the weight of the template
+     * @see TemplateCache
+     */
+    long weigh(boolean textLength) {
+        return weigh(root, textLength);
+    }
+
+    private static long weigh(TemplateNode node, boolean textLength) {
+        if (node instanceof SectionNode) {
+            long weight = 1;
+            for (SectionBlock block : ((SectionNode) node).blocks) {
+                for (TemplateNode child : block.nodes) {
+                    weight += weigh(child, textLength);
+                }
+            }
+            return weight;
+        } else if (textLength && node instanceof TextNode) {
+            return ((TextNode) node).getByteLength();
+        }
+        return 1;
+    }
+
     private class RenderingImpl extends RenderingBase {
 
+        @Override
+        public Template getTemplate() {
+            return TemplateImpl.this;
+        }
+
         @Override
         public String getResult() {
             try {
@@ -71,27 +103,33 @@ class TemplateImpl implements Template {
             return renderData(data(), resultConsumer);
         }
 
+        @Override
+        public CompletionStage<Void> writeTo(OutputStream out) {
+            return renderData(data(), ByteSink.of(out));
+        }
+
+        @Override
+        public CompletionStage<Void> consumeBytes(Consumer<ByteBuffer> consumer) {
+            return renderData(data(), ByteSink.of(consumer));
+        }
+
     }
 
     private CompletionStage<Void> renderData(Object data, Consumer<String> consumer) {
-        CompletableFuture<Void> result = new CompletableFuture<>();
         DataNamespaceResolver dataResolver = new DataNamespaceResolver();
         List<NamespaceResolver> namespaceResolvers = ImmutableList.<NamespaceResolver> builder()
                 .addAll(engine.getNamespaceResolvers()).add(dataResolver).build();
         ResolutionContext rootContext = new ResolutionContextImpl(null, data, namespaceResolvers,
                 engine.getEvaluator(), null);
         dataResolver.rootContext = rootContext;
-        // Async resolution
-        root.resolve(rootContext).whenComplete((r, t) -> {
-            if (t != null) {
-                result.completeExceptionally(t);
-            } else {
-                // Sync processing of the result tree - build the output
-                r.process(consumer);
-                result.complete(null);
-            }
-        });
-        return result;
+        // The root section forwards the results of the nodes and so the completed leading results are processed as soon as
+        // all the results before them are processed, also the results of nested sections such as include or loop
+        CompletionStage<ResultNode> root = this.root.resolve(rootContext);
+        if (Futures.isCompleted(root)) {
+            // Sync fast path - no need to compose the stages
+            return PendingResultNode.flush(Futures.getCompleted(root), consumer);
+        }
+        return root.thenCompose(node -> PendingResultNode.flush(node, consumer));
     }
 
     static class DataNamespaceResolver implements NamespaceResolver {
@@ -0,0 +1,69 @@
+package io.quarkus.qute;
+
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The result of the lexical analysis of a template, i.e. a list of text and tag tokens. The tokens can be obtained e.g.
+ * at build time and then used to build the template without scanning the template contents.
+ * <p>
+ * The tokens are plain strings so that they can be easily stored or recorded. The format is considered an
+ * implementation detail.
+ * 
+ * @see Engine#parse(TemplateTokens)
+ */
+public final class TemplateTokens {
+
+    /**
+     * 
+     * @param content
+     * @return the tokens
+     */
+    public static TemplateTokens tokenize(String content) {
+        return tokenize(new StringReader(content));
+    }
+
+    /**
+     * 
+     * @param reader
+     * @return the tokens
+     */
+    public static TemplateTokens tokenize(Reader reader) {
+        return new TemplateTokens(ImmutableList.copyOf(Parser.tokenize(reader)));
+    }
+
+    /**
+     * 
+     * @param tokens The list previously obtained from {@link #getTokens()}
+     * @return the tokens
+     */
+    public static TemplateTokens of(List<String> tokens) {
+        return new TemplateTokens(ImmutableList.copyOf(tokens));
+    }
+
+    private final List<String> tokens;
+
+    private TemplateTokens(List<String> tokens) {
+        this.tokens = Objects.requireNonNull(tokens);
+    }
+
+    /**
+     * 
+     * @return an immutable list of tokens
+     */
+    public List<String> getTokens() {
+        return tokens;
+    }
+
+    /**
+     * Note that the comments are not included, i.e. the line numbers may differ from the original contents.
+     * 
+     * @return the template contents reconstructed from the tokens
+     */
+    public String toContent() {
+        return Parser.toContent(tokens);
+    }
+
+}
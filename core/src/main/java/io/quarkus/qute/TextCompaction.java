@@ -0,0 +1,132 @@
+package io.quarkus.qute;
+
+/**
+ * Collapses insignificant whitespace in the static text of an HTML template. A run of whitespace characters is replaced
+ * with a single line separator if it contains one, or with a single space otherwise.
+ * <p>
+ * The text is processed in document order and the state is kept between the calls of {@link #compact(String)}, i.e. an
+ * element may start in one text node and end in another one. The whitespace is preserved inside tags and inside the
+ * elements where it's significant, such as {@code <pre>} and {@code <textarea>}.
+ */
+final class TextCompaction {
+
+    private static final String[] PRESERVING_ELEMENTS = { "pre", "textarea", "script", "style" };
+
+    private static final char LINE_SEPARATOR = '\n';
+
+    // The name of the current element that preserves whitespace, or null
+    private String preservingElement;
+    private boolean inTag;
+    private char quote;
+
+    /**
+     *
+     * @return {@code true} if the whitespace at the current position may be collapsed
+     */
+    boolean isCollapsing() {
+        return preservingElement == null && !inTag;
+    }
+
+    /**
+     *
+     * @param text
+     * @return the compacted text
+     */
+    String compact(String text) {
+        StringBuilder builder = new StringBuilder(text.length());
+        int length = text.length();
+        int idx = 0;
+        while (idx < length) {
+            char c = text.charAt(idx);
+            if (inTag) {
+                if (quote != 0) {
+                    if (c == quote) {
+                        quote = 0;
+                    }
+                } else if (c == '"' || c == '\'') {
+                    quote = c;
+                } else if (c == '>') {
+                    inTag = false;
+                }
+                builder.append(c);
+                idx++;
+            } else if (c == '<') {
+                if (preservingElement == null) {
+                    preservingElement = elementAt(text, idx + 1);
+                    inTag = isTagStart(text, idx + 1);
+                } else if (matches(text, idx + 1, "/" + preservingElement)) {
+                    preservingElement = null;
+                    inTag = true;
+                }
+                builder.append(c);
+                idx++;
+            } else if (preservingElement == null && isWhitespace(c)) {
+                boolean lineSeparator = false;
+                while (idx < length && isWhitespace(text.charAt(idx))) {
+                    lineSeparator |= isLineSeparator(text.charAt(idx));
+                    idx++;
+                }
+                builder.append(lineSeparator ? LINE_SEPARATOR : ' ');
+            } else {
+                builder.append(c);
+                idx++;
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Joins two compacted texts that are rendered next to each other.
+     *
+     * @param previous
+     * @param next
+     * @param collapse {@code true} if the whitespace at the end of the previous text may be collapsed
+     * @return the joined text
+     */
+    static String join(String previous, String next, boolean collapse) {
+        if (collapse && !previous.isEmpty() && !next.isEmpty() && isWhitespace(previous.charAt(previous.length() - 1))
+                && isWhitespace(next.charAt(0))) {
+            char last = previous.charAt(previous.length() - 1);
+            char first = next.charAt(0);
+            return previous.substring(0, previous.length() - 1)
+                    + (isLineSeparator(last) || isLineSeparator(first) ? LINE_SEPARATOR : ' ') + next.substring(1);
+        }
+        return previous + next;
+    }
+
+    private static String elementAt(String text, int idx) {
+        for (String element : PRESERVING_ELEMENTS) {
+            if (matches(text, idx, element)) {
+                return element;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isTagStart(String text, int idx) {
+        if (idx >= text.length()) {
+            // E.g. <{name}>
+            return true;
+        }
+        char c = text.charAt(idx);
+        return Character.isLetter(c) || c == '/' || c == '!';
+    }
+
+    private static boolean matches(String text, int idx, String name) {
+        int end = idx + name.length();
+        if (!text.regionMatches(true, idx, name, 0, name.length())) {
+            return false;
+        }
+        // The name must not be followed by another name character, e.g. <preview>
+        return end == text.length() || !Character.isLetterOrDigit(text.charAt(end)) && text.charAt(end) != '-';
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f';
+    }
+
+    private static boolean isLineSeparator(char c) {
+        return c == '\n' || c == '\r';
+    }
+
+}
@@ -1,5 +1,6 @@
 package io.quarkus.qute;
 
+import java.nio.charset.StandardCharsets;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.function.Consumer;
@@ -11,6 +12,9 @@ public class TextNode implements TemplateNode, ResultNode {
 
     private final CompletableFuture<ResultNode> result;
     private final String value;
+    // UTF-8 encoded value, encoded lazily when written to a ByteSink for the first time
+    // Racy single-check - the value may be encoded more than once but the result is always the same
+    private byte[] bytes;
     private final Origin origin;
     
     public TextNode(String value, Origin origin) {
@@ -28,9 +32,47 @@ public class TextNode implements TemplateNode, ResultNode {
         return origin;
     }
 
+    String getValue() {
+        return value;
+    }
+
+    int getByteLength() {
+        byte[] encoded = bytes;
+        if (encoded != null) {
+            return encoded.length;
+        }
+        // Do not encode the value just to measure it
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                // An unpaired surrogate is encoded as '?'
+                length += Character.isSurrogate(c) ? 1 : 3;
+            }
+        }
+        return length;
+    }
+
     @Override
     public void process(Consumer<String> consumer) {
-        consumer.accept(value);
+        if (consumer instanceof ByteSink) {
+            byte[] encoded = bytes;
+            if (encoded == null) {
+                encoded = value.getBytes(StandardCharsets.UTF_8);
+                bytes = encoded;
+            }
+            ((ByteSink) consumer).write(encoded);
+        } else {
+            consumer.accept(value);
+        }
     }
 
     @Override
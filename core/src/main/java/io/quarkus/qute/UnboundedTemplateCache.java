@@ -0,0 +1,60 @@
+package io.quarkus.qute;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * The default cache - templates are never evicted.
+ */
+class UnboundedTemplateCache implements TemplateCache {
+
+    private final Map<String, Template> templates;
+    private final LongAdder hits;
+    private final LongAdder misses;
+
+    UnboundedTemplateCache() {
+        this.templates = new ConcurrentHashMap<>();
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+    }
+
+    @Override
+    public Template get(String id) {
+        Template template = templates.get(id);
+        if (template != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return template;
+    }
+
+    @Override
+    public boolean contains(String id) {
+        return templates.containsKey(id);
+    }
+
+    @Override
+    public Template put(String id, Template template) {
+        return templates.put(id, template);
+    }
+
+    @Override
+    public void clear() {
+        templates.clear();
+    }
+
+    @Override
+    public void removeIf(Predicate<String> test) {
+        templates.keySet().removeIf(test);
+    }
+
+    @Override
+    public Stats getStats() {
+        int size = templates.size();
+        return new Stats(hits.sum(), misses.sum(), 0, size, size);
+    }
+
+}
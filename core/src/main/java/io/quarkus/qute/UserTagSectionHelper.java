@@ -9,7 +9,7 @@ import java.util.concurrent.CompletionStage;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
-public class UserTagSectionHelper implements SectionHelper {
+public class UserTagSectionHelper implements ForwardingSectionHelper {
 
     private static final String IT = "it";
 
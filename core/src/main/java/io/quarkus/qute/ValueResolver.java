@@ -1,6 +1,8 @@
 package io.quarkus.qute;
 
+import java.util.Collections;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.function.BiFunction;
@@ -21,7 +23,39 @@ public interface ValueResolver extends Resolver, WithPriority {
     default boolean appliesTo(EvalContext context) {
         return true;
     }
-    
+
+    /**
+     * A resolver may declare that the result of {@link #appliesTo(EvalContext)} only depends on the class of the base
+     * object, the name and the number of params. In that case, the result may be cached per each part of an expression
+     * and base class.
+     * 
+     * @return {@code true} if the result of {@link #appliesTo(EvalContext)} can be cached
+     */
+    default boolean isAppliesToCacheable() {
+        return false;
+    }
+
+    /**
+     * A resolver may declare the types of base objects it applies to. If declared then the resolver is skipped entirely
+     * for a base object that is {@code null} or is not an instance of any of the types, i.e.
+     * {@link #appliesTo(EvalContext)} is not called at all.
+     * 
+     * @return the types or {@code null} if not declared
+     */
+    default Set<Class<?>> getAppliesToBaseTypes() {
+        return null;
+    }
+
+    /**
+     * A resolver may declare the names it applies to. If declared then the resolver is skipped entirely for any other
+     * name, i.e. {@link #appliesTo(EvalContext)} is not called at all.
+     * 
+     * @return the names or {@code null} if not declared
+     */
+    default Set<String> getAppliesToNames() {
+        return null;
+    }
+
     static <BASE> Builder<BASE> match(Class<BASE> baseClass) {
         return new Builder<>(baseClass);
     }
@@ -31,6 +65,9 @@ public interface ValueResolver extends Resolver, WithPriority {
         private Predicate<EvalContext> appliesTo;
         private Function<EvalContext, CompletionStage<Object>> resolve;
         private int priority;
+        private boolean appliesToCacheable;
+        private final Set<Class<?>> baseTypes;
+        private Set<String> names;
 
         public Builder(Class<BASE> match) {
             this.appliesTo = new Predicate<EvalContext>() {
@@ -40,19 +77,37 @@ public interface ValueResolver extends Resolver, WithPriority {
                 }
             };
             this.priority = DEFAULT_PRIORITY;
+            this.appliesToCacheable = true;
+            this.baseTypes = Collections.singleton(match);
         }
 
         public Builder<BASE> andMatch(String name) {
-            return andAppliesTo(new Predicate<EvalContext>() {
+            this.appliesTo = this.appliesTo.and(new Predicate<EvalContext>() {
                 @Override
                 public boolean test(EvalContext ctx) {
                     return ctx.getName().equals(name);
                 }
             });
+            if (names == null || names.contains(name)) {
+                this.names = Collections.singleton(name);
+            } else {
+                // Multiple different names never match
+                this.names = Collections.emptySet();
+            }
+            return this;
         }
 
+        /**
+         * Note that the result of {@link ValueResolver#appliesTo(EvalContext)} is not cacheable if a custom predicate is
+         * used.
+         * 
+         * @param predicate
+         * @return self
+         * @see ValueResolver#isAppliesToCacheable()
+         */
         public Builder<BASE> andAppliesTo(Predicate<EvalContext> predicate) {
             this.appliesTo = this.appliesTo.and(predicate);
+            this.appliesToCacheable = false;
             return this;
         }
 
@@ -83,6 +138,9 @@ public interface ValueResolver extends Resolver, WithPriority {
         public ValueResolver build() {
             Objects.requireNonNull(appliesTo);
             Objects.requireNonNull(resolve);
+            boolean appliesToCacheable = this.appliesToCacheable;
+            Set<Class<?>> baseTypes = this.baseTypes;
+            Set<String> names = this.names;
             return new ValueResolver() {
 
                 @Override
@@ -99,6 +157,21 @@ public interface ValueResolver extends Resolver, WithPriority {
                 public boolean appliesTo(EvalContext context) {
                     return appliesTo.test(context);
                 }
+
+                @Override
+                public boolean isAppliesToCacheable() {
+                    return appliesToCacheable;
+                }
+
+                @Override
+                public Set<Class<?>> getAppliesToBaseTypes() {
+                    return baseTypes;
+                }
+
+                @Override
+                public Set<String> getAppliesToNames() {
+                    return names;
+                }
             };
         }
 
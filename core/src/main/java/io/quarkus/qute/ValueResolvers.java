@@ -1,8 +1,10 @@
 package io.quarkus.qute;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 
@@ -17,7 +19,7 @@ public final class ValueResolvers {
     }
 
     public static ValueResolver thisResolver() {
-        return ValueResolver.match(Object.class).andAppliesTo(ValueResolvers::thisAppliesTo).resolve(c -> c.getBase()).build();
+        return ValueResolver.match(Object.class).andMatch(THIS).resolve(c -> c.getBase()).build();
     }
 
     /**
@@ -43,6 +45,16 @@ public final class ValueResolvers {
             public boolean appliesTo(EvalContext context) {
                 return context.getBase() instanceof Mapper;
             }
+
+            @Override
+            public boolean isAppliesToCacheable() {
+                return true;
+            }
+
+            @Override
+            public Set<Class<?>> getAppliesToBaseTypes() {
+                return Collections.singleton(Mapper.class);
+            }
             
             @Override
             public int getPriority() {
@@ -80,10 +92,6 @@ public final class ValueResolvers {
         }
     }
 
-    private static boolean thisAppliesTo(EvalContext context) {
-        return THIS.equals(context.getName());
-    }
-
     private static boolean orAppliesTo(EvalContext context) {
         return context.getParams().size() == 1
                 && ("?:".equals(context.getName()) || "or".equals(context.getName()));
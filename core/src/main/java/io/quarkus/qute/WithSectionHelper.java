@@ -12,7 +12,7 @@ import io.quarkus.qute.SectionHelperFactory.SectionInitContext;
 /**
  * Basic {@code with} statement.
  */
-public class WithSectionHelper implements SectionHelper {
+public class WithSectionHelper implements ForwardingSectionHelper {
 
     private static final String OBJECT = "object";
     private static final String WITH = "with";
@@ -31,25 +31,35 @@ public class WithSectionHelper implements SectionHelper {
 
     @Override
     public CompletionStage<ResultNode> resolve(SectionResolutionContext context) {
-        return context.resolutionContext().evaluate(object)
-                .thenCompose(with -> {
-                    Object data;
-                    if (alias != null) {
-                        data = new Mapper() {
-                            @Override
-                            public Object get(String key) {
-                                if (alias.equals(key)) {
-                                    return with;
-                                }
-                                return Result.NOT_FOUND;
-                            }
-                        };
-                    } else {
-                        data = with;
+        CompletionStage<Object> object = context.resolutionContext().evaluate(this.object);
+        if (Futures.isCompleted(object)) {
+            // Sync fast path - no need to compose the stages
+            try {
+                return resolveMain(Futures.getCompleted(object), context);
+            } catch (Throwable e) {
+                return Futures.failure(e);
+            }
+        }
+        return object.thenCompose(with -> resolveMain(with, context));
+    }
+
+    private CompletionStage<ResultNode> resolveMain(Object with, SectionResolutionContext context) {
+        Object data;
+        if (alias != null) {
+            data = new Mapper() {
+                @Override
+                public Object get(String key) {
+                    if (alias.equals(key)) {
+                        return with;
                     }
-                    ResolutionContext child = context.resolutionContext().createChild(data, null);
-                    return context.execute(main, child);
-                });
+                    return Result.NOT_FOUND;
+                }
+            };
+        } else {
+            data = with;
+        }
+        ResolutionContext child = context.resolutionContext().createChild(data, null);
+        return context.execute(main, child);
     }
 
     public static class Factory implements SectionHelperFactory<WithSectionHelper> {
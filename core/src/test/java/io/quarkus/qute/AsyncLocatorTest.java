@@ -0,0 +1,125 @@
+package io.quarkus.qute;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+public class AsyncLocatorTest {
+
+    @Test
+    public void testAsyncLocator() {
+        AtomicInteger locates = new AtomicInteger();
+        CompletableFuture<Optional<Reader>> content = new CompletableFuture<>();
+        Engine engine = Engine.builder().addDefaultValueResolvers()
+                .addLocator(id -> id.equals("sync") ? Optional.of(new StringReader("sync")) : Optional.empty())
+                .addAsyncLocator(id -> {
+                    locates.incrementAndGet();
+                    return id.equals("foo") ? content : CompletableFuture.completedFuture(Optional.empty());
+                }).build();
+
+        CompletableFuture<Template> foo1 = engine.getTemplateAsync("foo").toCompletableFuture();
+        CompletableFuture<Template> foo2 = engine.getTemplateAsync("foo").toCompletableFuture();
+        assertFalse(foo1.isDone());
+        assertFalse(foo2.isDone());
+        content.complete(Optional.of(new StringReader("Hello {this}!")));
+        assertTrue(foo1.isDone());
+        assertSame(foo1.join(), foo2.join());
+        assertEquals("Hello world!", foo1.join().render("world"));
+        assertSame(foo1.join(), engine.getTemplate("foo"));
+        assertEquals(1, locates.get());
+
+        // Sync locators are used first
+        assertEquals("sync", engine.getTemplateAsync("sync").toCompletableFuture().join().render(null));
+        assertEquals(1, locates.get());
+
+        assertNull(engine.getTemplateAsync("bar").toCompletableFuture().join());
+        assertNull(engine.getTemplate("bar"));
+        assertEquals(2, locates.get());
+    }
+
+    @Test
+    public void testAsyncLocatorFailure() {
+        Engine engine = Engine.builder().addAsyncLocator(id -> {
+            CompletableFuture<Optional<Reader>> result = new CompletableFuture<>();
+            result.completeExceptionally(new IllegalArgumentException(id));
+            return result;
+        }).build();
+        CompletionStage<Template> foo = engine.getTemplateAsync("foo");
+        assertTrue(foo.toCompletableFuture().isCompletedExceptionally());
+        // The failure is not cached
+        assertThrows(IllegalArgumentException.class, () -> engine.getTemplate("foo"));
+    }
+
+    @Test
+    public void testRemovedWhileLoading() {
+        List<CompletableFuture<Optional<Reader>>> contents = new ArrayList<>();
+        Engine engine = Engine.builder().addAsyncLocator(id -> {
+            CompletableFuture<Optional<Reader>> content = new CompletableFuture<>();
+            contents.add(content);
+            return content;
+        }).build();
+
+        CompletableFuture<Template> stale = engine.getTemplateAsync("foo").toCompletableFuture();
+        engine.clearTemplates();
+        // A new request does not wait for the load started before
+        CompletableFuture<Template> fresh = engine.getTemplateAsync("foo").toCompletableFuture();
+        assertEquals(2, contents.size());
+        contents.get(0).complete(Optional.of(new StringReader("Foo 1")));
+        // The result is returned but not cached
+        assertEquals("Foo 1", stale.join().render(null));
+        assertFalse(fresh.isDone());
+        contents.get(1).complete(Optional.of(new StringReader("Foo 2")));
+        assertEquals("Foo 2", fresh.join().render(null));
+        assertSame(fresh.join(), engine.getTemplate("foo"));
+
+        // Not found
+        CompletableFuture<Template> bar = engine.getTemplateAsync("bar").toCompletableFuture();
+        engine.removeTemplates("bar"::equals);
+        contents.get(2).complete(Optional.empty());
+        assertNull(bar.join());
+        // The missing template is not remembered
+        CompletableFuture<Template> bar2 = engine.getTemplateAsync("bar").toCompletableFuture();
+        assertEquals(4, contents.size());
+        contents.get(3).complete(Optional.of(new StringReader("Bar")));
+        assertEquals("Bar", bar2.join().render(null));
+    }
+
+    @Test
+    public void testReloadOutOfOrder() {
+        List<CompletableFuture<Optional<Reader>>> contents = new ArrayList<>();
+        EngineImpl engine = (EngineImpl) Engine.builder().addAsyncLocator(id -> {
+            CompletableFuture<Optional<Reader>> content = new CompletableFuture<>();
+            contents.add(content);
+            return content;
+        }).build();
+        CompletableFuture<Template> foo = engine.getTemplateAsync("foo").toCompletableFuture();
+        contents.get(0).complete(Optional.of(new StringReader("Foo 0")));
+        assertEquals("Foo 0", foo.join().render(null));
+
+        CompletableFuture<Template> older = engine.reload("foo").toCompletableFuture();
+        CompletableFuture<Template> newer = engine.reload("foo").toCompletableFuture();
+        assertEquals(3, contents.size());
+        contents.get(2).complete(Optional.of(new StringReader("Foo 2")));
+        assertEquals("Foo 2", newer.join().render(null));
+        assertEquals("Foo 2", engine.getTemplate("foo").render(null));
+        // The older reload completes last - its result is discarded
+        contents.get(1).complete(Optional.of(new StringReader("Foo 1")));
+        assertEquals("Foo 1", older.join().render(null));
+        assertEquals("Foo 2", engine.getTemplate("foo").render(null));
+    }
+
+}
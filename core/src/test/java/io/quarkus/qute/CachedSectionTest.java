@@ -0,0 +1,140 @@
+package io.quarkus.qute;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+public class CachedSectionTest {
+
+    @Test
+    public void testCached() {
+        AtomicInteger renders = new AtomicInteger();
+        Engine engine = Engine.builder().addDefaultSectionHelpers().addDefaultValueResolvers()
+                .addValueResolver(ValueResolver.match(AtomicInteger.class).andMatch("next")
+                        .resolve(c -> ((AtomicInteger) c.getBase()).incrementAndGet()).build())
+                .build();
+        Template template = engine.parse("{#cached key='nav' user=user}{user}:{renders.next}{/cached}");
+        Map<String, Object> data = new HashMap<>();
+        data.put("user", "foo");
+        data.put("renders", renders);
+        assertEquals("foo:1", template.render(data));
+        assertEquals("foo:1", template.render(data));
+        data.put("user", "bar");
+        assertEquals("bar:2", template.render(data));
+        data.put("user", "foo");
+        // The key is not shared with other sections by default
+        assertEquals("3", engine.parse("{#cached 'nav' user=user}{renders.next}{/cached}").render(data));
+        // Not even with a section on the same line
+        assertEquals("45", engine.parse("{#cached 'nav' user=user}{renders.next}{/cached}"
+                + "{#cached 'nav' user=user}{renders.next}{/cached}").render(data));
+        assertEquals(5, renders.get());
+        assertEquals("foo:1", template.render(data));
+
+        try {
+            engine.parse("{#cached ttl=1s}{renders.next}{/cached}");
+            fail();
+        } catch (IllegalStateException expected) {
+        }
+        try {
+            engine.parse("{#cached key='foo' ttl=1x}{renders.next}{/cached}");
+            fail();
+        } catch (IllegalStateException expected) {
+        }
+    }
+
+    @Test
+    public void testShared() {
+        AtomicInteger renders = new AtomicInteger();
+        Engine engine = Engine.builder().addDefaultSectionHelpers().addDefaultValueResolvers()
+                .addValueResolver(ValueResolver.match(AtomicInteger.class).andMatch("next")
+                        .resolve(c -> ((AtomicInteger) c.getBase()).incrementAndGet()).build())
+                .build();
+        Map<String, Object> data = Collections.singletonMap("renders", renders);
+        Template foo = engine.parse("{#cached key='nav' shared=true}{renders.next}{/cached}");
+        Template bar = engine.parse("{#cached 'nav' shared=true}{renders.next}{/cached}");
+        assertEquals("1", foo.render(data));
+        assertEquals("1", bar.render(data));
+        // Not shared
+        assertEquals("2", engine.parse("{#cached 'nav'}{renders.next}{/cached}").render(data));
+
+        // The store is reachable and cleared together with the templates
+        FragmentStore store = ((CachedSectionHelper.Factory) engine.getSectionHelperFactory("cached")).getStore();
+        assertEquals(2, ((BoundedFragmentStore) store).size());
+        engine.clearTemplates();
+        assertEquals(0, ((BoundedFragmentStore) store).size());
+        assertEquals("3", bar.render(data));
+        assertEquals("3", foo.render(data));
+    }
+
+    @Test
+    public void testTtl() {
+        assertEquals(500, CachedSectionHelper.Factory.getTtl("500"));
+        assertEquals(500, CachedSectionHelper.Factory.getTtl("500ms"));
+        assertEquals(TimeUnit.MINUTES.toMillis(10), CachedSectionHelper.Factory.getTtl("10m"));
+        assertEquals(TimeUnit.DAYS.toMillis(1), CachedSectionHelper.Factory.getTtl("1d"));
+
+        AtomicLong ticker = new AtomicLong();
+        AtomicInteger renders = new AtomicInteger();
+        Engine engine = Engine.builder().addDefaultSectionHelpers().addDefaultValueResolvers()
+                .addSectionHelper(new CachedSectionHelper.Factory(new BoundedFragmentStore(10, ticker::get)))
+                .addValueResolver(ValueResolver.match(AtomicInteger.class).andMatch("next")
+                        .resolve(c -> ((AtomicInteger) c.getBase()).incrementAndGet()).build())
+                .build();
+        Template template = engine.parse("{#cached key='foo' ttl=1s}{renders.next}{/cached}");
+        assertEquals("1", template.render(Collections.singletonMap("renders", renders)));
+        ticker.addAndGet(TimeUnit.MILLISECONDS.toNanos(999));
+        assertEquals("1", template.render(Collections.singletonMap("renders", renders)));
+        ticker.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+        assertEquals("2", template.render(Collections.singletonMap("renders", renders)));
+    }
+
+    @Test
+    public void testStore() {
+        BoundedFragmentStore store = new BoundedFragmentStore(2, System::nanoTime);
+        AtomicInteger loads = new AtomicInteger();
+        CompletableFuture<String> pending = new CompletableFuture<>();
+        CompletionStage<String> first = store.get("foo", Long.MAX_VALUE, () -> {
+            loads.incrementAndGet();
+            return pending;
+        });
+        // Concurrent requests are coalesced
+        CompletionStage<String> second = store.get("foo", Long.MAX_VALUE, () -> {
+            loads.incrementAndGet();
+            return CompletableFuture.completedFuture("baz");
+        });
+        assertFalse(second.toCompletableFuture().isDone());
+        pending.complete("bar");
+        assertEquals("bar", first.toCompletableFuture().join());
+        assertEquals("bar", second.toCompletableFuture().join());
+        assertEquals(1, loads.get());
+
+        // Failures are not stored
+        CompletableFuture<String> failure = new CompletableFuture<>();
+        failure.completeExceptionally(new IllegalStateException());
+        assertTrue(store.get("bar", Long.MAX_VALUE, () -> failure).toCompletableFuture().isCompletedExceptionally());
+        assertEquals(1, store.size());
+
+        // The least recently used fragment is evicted
+        store.get("bar", Long.MAX_VALUE, () -> CompletableFuture.completedFuture("bar"));
+        store.get("foo", Long.MAX_VALUE, () -> CompletableFuture.completedFuture("foo"));
+        store.get("baz", Long.MAX_VALUE, () -> CompletableFuture.completedFuture("baz"));
+        assertEquals(2, store.size());
+        assertEquals("bar", store.get("foo", Long.MAX_VALUE, () -> CompletableFuture.completedFuture("qux"))
+                .toCompletableFuture().join());
+        assertEquals("bar2", store.get("bar", Long.MAX_VALUE, () -> CompletableFuture.completedFuture("bar2"))
+                .toCompletableFuture().join());
+    }
+
+}
@@ -0,0 +1,110 @@
+package io.quarkus.qute;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.Test;
+
+public class EngineTest {
+
+    @Test
+    public void testDefaultGetTemplateAsync() {
+        Engine engine = new ForwardingEngine(Engine.builder().addDefaultValueResolvers().addLocator(id -> {
+            if (id.equals("fail")) {
+                throw new IllegalArgumentException(id);
+            }
+            return id.equals("foo") ? Optional.of(new StringReader("Hello {this}!")) : Optional.empty();
+        }).build());
+        assertEquals("Hello world!", engine.getTemplateAsync("foo").toCompletableFuture().join().render("world"));
+        assertNull(engine.getTemplateAsync("bar").toCompletableFuture().join());
+        CompletionException e = assertThrows(CompletionException.class,
+                () -> engine.getTemplateAsync("fail").toCompletableFuture().join());
+        assertEquals(IllegalArgumentException.class, e.getCause().getClass());
+    }
+
+    @Test
+    public void testDefaultParse() {
+        Engine engine = new ForwardingEngine(Engine.builder().addDefaultValueResolvers().build());
+        assertEquals("Hello world!", engine.parse("Hello {this}!", "foo.html").render("world"));
+        TemplateTokens tokens = TemplateTokens.tokenize("Hello {this}!");
+        assertEquals("Hello world!", engine.parse(tokens).render("world"));
+        assertEquals("Hello world!", engine.parse(tokens, "foo.html").render("world"));
+    }
+
+    /**
+     * Only implements the abstract methods, i.e. all the default methods are used.
+     */
+    static class ForwardingEngine implements Engine {
+
+        private final Engine delegate;
+
+        ForwardingEngine(Engine delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Template parse(String content) {
+            return delegate.parse(content);
+        }
+
+        @Override
+        public SectionHelperFactory<?> getSectionHelperFactory(String name) {
+            return delegate.getSectionHelperFactory(name);
+        }
+
+        @Override
+        public Map<String, SectionHelperFactory<?>> getSectionHelperFactories() {
+            return delegate.getSectionHelperFactories();
+        }
+
+        @Override
+        public List<ValueResolver> getValueResolvers() {
+            return delegate.getValueResolvers();
+        }
+
+        @Override
+        public List<NamespaceResolver> getNamespaceResolvers() {
+            return delegate.getNamespaceResolvers();
+        }
+
+        @Override
+        public Evaluator getEvaluator() {
+            return delegate.getEvaluator();
+        }
+
+        @Override
+        public List<ResultMapper> getResultMappers() {
+            return delegate.getResultMappers();
+        }
+
+        @Override
+        public Template putTemplate(String id, Template template) {
+            return delegate.putTemplate(id, template);
+        }
+
+        @Override
+        public Template getTemplate(String id) {
+            return delegate.getTemplate(id);
+        }
+
+        @Override
+        public void clearTemplates() {
+            delegate.clearTemplates();
+        }
+
+        @Override
+        public void removeTemplates(Predicate<String> test) {
+            delegate.removeTemplates(test);
+        }
+
+    }
+
+}
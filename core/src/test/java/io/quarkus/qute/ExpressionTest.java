@@ -1,12 +1,22 @@
 package io.quarkus.qute;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.jupiter.api.Test;
 
@@ -31,6 +41,82 @@ public class ExpressionTest {
         verify("name.func(data:foo)", null, ImmutableList.of("name", "func(data:foo)"), null);
     }
 
+    @Test
+    public void testParsedParts() throws InterruptedException, ExecutionException {
+        Expression exp = Expression.from("item.price.format('0.00',foo)");
+        assertEquals(3, exp.parsedParts.length);
+        assertEquals("item", exp.parsedParts[0].name);
+        assertNull(exp.parsedParts[0].paramExpressions);
+        Expression.Part format = exp.parsedParts[2];
+        assertEquals("format", format.name);
+        assertEquals(ImmutableList.of("'0.00'", "foo"), format.params);
+        // Literal param is pre-evaluated
+        assertEquals("0.00", format.getParamExpression("'0.00'").literal.get());
+        assertEquals(ImmutableList.of("foo"), format.getParamExpression("foo").parts);
+        assertNull(format.getParamExpression("baz"));
+        assertNull(Expression.from("'foo'").parsedParts);
+    }
+
+    @Test
+    public void testSharedCore() {
+        Engine engine = Engine.builder().addDefaultSectionHelpers().addDefaultValueResolvers().build();
+        Expression foo = engine.parse("{item.name}").getExpressions().iterator().next();
+        Expression bar = engine.parse("\n{item.name}").getExpressions().iterator().next();
+        // Different origin, same core
+        assertNotEquals(foo, bar);
+        assertSame(foo.core, bar.core);
+        assertSame(foo.parsedParts[1].cache, bar.parsedParts[1].cache);
+        Expression baz = engine.parse("{item.name.length}").getExpressions().iterator().next();
+        assertNotSame(foo.core, baz.core);
+        // Expressions parsed outside an engine are not interned
+        assertNotSame(Expression.from("item.name").core, Expression.from("item.name").core);
+        assertEquals(Expression.from("item.name").core, Expression.from("item.name").core);
+    }
+
+    @Test
+    public void testSharedCoreNotRetained() throws InterruptedException {
+        EngineImpl engine = (EngineImpl) Engine.builder().addDefaultSectionHelpers().addDefaultValueResolvers().build();
+        Template template = engine.parse("{item.name}");
+        for (int i = 0; i < 100; i++) {
+            engine.parse("{item.name" + i + "}");
+        }
+        assertEquals(101, engine.getExpressionCoreCount());
+        // The cores of unused templates are not retained
+        for (int i = 0; i < 50 && engine.getExpressionCoreCount() > 1; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertEquals(1, engine.getExpressionCoreCount());
+        assertSame(template.getExpressions().iterator().next().core,
+                engine.parse("{item.name}").getExpressions().iterator().next().core);
+    }
+
+    @Test
+    public void testSharedCoreParallel() throws InterruptedException, ExecutionException {
+        Engine engine = Engine.builder().addDefaultSectionHelpers().addDefaultValueResolvers().build();
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            content.append("{item.name").append(i).append("}");
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Template>> templates = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                templates.add(executor.submit(() -> engine.parse(content.toString())));
+            }
+            Set<Expression.Core> cores = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (Future<Template> template : templates) {
+                for (Expression expression : template.get().getExpressions()) {
+                    cores.add(expression.core);
+                }
+            }
+            // All templates share the same cores
+            assertEquals(100, cores.size());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     private void verify(String value, String namespace, List<String> parts, CompletableFuture<Object> literal)
             throws InterruptedException, ExecutionException {
         Expression exp = Expression.from(value);
@@ -0,0 +1,118 @@
+package io.quarkus.qute;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class FileSystemLocatorTest {
+
+    @Test
+    public void testLocate(@TempDir Path root) throws IOException {
+        write(root.resolve("foo.html"), "Hello {this}!");
+        Files.createDirectory(root.resolve("sub"));
+        write(root.resolve("sub/bar.txt"), "Bar");
+        StringBuilder large = new StringBuilder();
+        while (large.length() < 64 * 1024) {
+            large.append("Čau ");
+        }
+        write(root.resolve("large.html"), large.toString());
+        write(root.getParent().resolve("secret.txt"), "Secret");
+
+        FileSystemLocator locator = new FileSystemLocator(root, "html", "txt");
+        Engine engine = Engine.builder().addDefaultValueResolvers().addLocator(locator).build();
+        assertEquals("Hello world!", engine.getTemplate("foo.html").render("world"));
+        assertEquals("Hello world!", engine.getTemplate("foo").render("world"));
+        assertEquals("Bar", engine.getTemplate("sub/bar").render(null));
+        assertEquals(large.toString(), engine.getTemplate("large").render(null));
+        assertFalse(locator.apply("../secret.txt").isPresent());
+        assertNull(engine.getTemplate("baz"));
+    }
+
+    @Test
+    public void testWatch(@TempDir Path root) throws IOException, InterruptedException {
+        write(root.resolve("foo.html"), "Foo");
+        Files.createDirectory(root.resolve("sub"));
+        write(root.resolve("sub/bar.html"), "Bar");
+
+        try (FileSystemLocator locator = new FileSystemLocator(root, "html")) {
+            Engine engine = Engine.builder().addLocator(locator).build();
+            locator.watch(engine);
+            assertEquals("Foo", engine.getTemplate("foo").render(null));
+            assertEquals("Bar", engine.getTemplate("sub/bar.html").render(null));
+
+            write(root.resolve("foo.html"), "Foo 2");
+            awaitEquals("Foo 2", () -> engine.getTemplate("foo").render(null));
+            write(root.resolve("sub/bar.html"), "Bar 2");
+            awaitEquals("Bar 2", () -> engine.getTemplate("sub/bar.html").render(null));
+
+            Files.delete(root.resolve("foo.html"));
+            awaitEquals(null, () -> engine.getTemplate("foo") == null ? null : "found");
+        }
+    }
+
+    @Test
+    public void testWatchOnlyLoadedTemplates(@TempDir Path root) throws IOException, InterruptedException {
+        write(root.resolve("foo.html"), "Foo");
+        write(root.resolve("bar.html"), "Bar");
+
+        TemplateCache cache = TemplateCache.builder().build();
+        try (FileSystemLocator locator = new FileSystemLocator(root, "html")) {
+            Engine engine = Engine.builder().templateCache(cache)
+                    // Registered first - has higher priority
+                    .addLocator(id -> "foo".equals(id) ? Optional.of(new StringReader("Alpha")) : Optional.empty())
+                    .addLocator(locator).build();
+            locator.watch(engine);
+            assertEquals("Alpha", engine.getTemplate("foo").render(null));
+            assertEquals("Bar", engine.getTemplate("bar").render(null));
+            assertNull(engine.getTemplate("baz"));
+
+            write(root.resolve("foo.html"), "Foo 2");
+            write(root.resolve("baz.html"), "Baz");
+            write(root.resolve("bar.html"), "Bar 2");
+            awaitEquals("Bar 2", () -> engine.getTemplate("bar").render(null));
+            // The template located by the other locator is not shadowed
+            assertEquals("Alpha", engine.getTemplate("foo").render(null));
+            // The ids that were never requested are not registered
+            assertNull(cache.get("foo.html"));
+            assertNull(cache.get("bar.html"));
+            assertNull(cache.get("baz"));
+            // The created template is found
+            awaitEquals("Baz", () -> {
+                Template baz = engine.getTemplate("baz");
+                return baz != null ? baz.render(null) : null;
+            });
+        }
+    }
+
+    private static void write(Path file, String content) throws IOException {
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void awaitEquals(String expected, Supplier<String> actual) throws InterruptedException {
+        long timeout = System.currentTimeMillis() + 10000;
+        while (System.currentTimeMillis() < timeout) {
+            try {
+                if (Objects.equals(expected, actual.get())) {
+                    return;
+                }
+            } catch (IllegalStateException ignored) {
+                // The template may be updated in the meantime
+            }
+            Thread.sleep(50);
+        }
+        assertEquals(expected, actual.get());
+    }
+
+}
@@ -1,8 +1,12 @@
 package io.quarkus.qute;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.junit.jupiter.api.Test;
@@ -56,4 +60,44 @@ public class IfSectionTest {
         assertEquals("OK", engine.parse("{#if !false}OK{/if}").render(data));
     }
 
+    @Test
+    public void testConstantFolding() {
+        Engine engine = Engine.builder().addDefaultSectionHelpers().addDefaultValueResolvers().build();
+
+        String content = "A{#if true}B{'C'}{#if 1 lt 2}D{:else}E{/if}{/if}{#if false}F{:else if name}G{/if}H";
+        Template template = engine.parse(content);
+        List<TemplateNode> nodes = ((TemplateImpl) template).root.blocks.get(0).nodes;
+        // A, B, C, D, the if section with a variable condition and H - text nodes are not merged by default
+        assertEquals(6, nodes.size());
+        for (int i = 0; i < 4; i++) {
+            assertTrue(nodes.get(i) instanceof TextNode);
+        }
+        assertTrue(nodes.get(4) instanceof SectionNode);
+        assertEquals("ABCDGH", template.render(Collections.singletonMap("name", true)));
+        assertEquals("ABCDH", template.render(Collections.singletonMap("name", false)));
+
+        // A + B + C + D, the if section with a variable condition and H
+        template = Engine.builder().addDefaultSectionHelpers().addDefaultValueResolvers().compactText(id -> false).build()
+                .parse(content);
+        nodes = ((TemplateImpl) template).root.blocks.get(0).nodes;
+        assertEquals(3, nodes.size());
+        assertTrue(nodes.get(0) instanceof TextNode);
+        assertTrue(nodes.get(1) instanceof SectionNode);
+        assertEquals("ABCDGH", template.render(Collections.singletonMap("name", true)));
+
+        template = engine.parse("{#if false}A{:else if 'foo' is 'bar'}B{/if}{#if !false}C{/if}{null}");
+        assertEquals(1, ((TemplateImpl) template).root.blocks.get(0).nodes.size());
+        assertEquals("C", template.render(null));
+
+        // Invalid operands are not folded
+        template = engine.parse("{#if 'foo' gt 1}A{/if}");
+        assertTrue(((TemplateImpl) template).root.blocks.get(0).nodes.get(0) instanceof SectionNode);
+        try {
+            template.render(null);
+            fail();
+        } catch (IllegalStateException expected) {
+            assertTrue(expected.getCause().getCause() instanceof NumberFormatException);
+        }
+    }
+
 }
@@ -1,11 +1,21 @@
 package io.quarkus.qute;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.Test;
 
@@ -94,4 +104,152 @@ public class LoopSectionTest {
                 engine.parse(template).render(data));
     }
 
+    @Test
+    public void testConcurrency() {
+        List<Integer> data = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            data.add(i);
+        }
+        List<CompletableFuture<Object>> pending = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        Engine engine = Engine.builder()
+                .addSectionHelper(new LoopSectionHelper.Factory())
+                .addDefaultValueResolvers()
+                .addValueResolver(ValueResolver.match(Integer.class).andMatch("slow")
+                        .resolveAsync(ctx -> {
+                            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                            CompletableFuture<Object> future = new CompletableFuture<>();
+                            pending.add(future);
+                            return future.thenApply(v -> {
+                                inFlight.decrementAndGet();
+                                return ((Integer) ctx.getBase()) * 10;
+                            });
+                        }))
+                .build();
+
+        CompletionStage<String> result = engine.parse("{#for i in this concurrency=3}{i.slow}:{/for}").render()
+                .setData(data).getResultAsync();
+        CompletableFuture<String> future = result.toCompletableFuture();
+        // Complete the elements in the reverse order of submission
+        while (!future.isDone()) {
+            assertFalse(pending.isEmpty());
+            pending.remove(pending.size() - 1).complete(null);
+        }
+        assertEquals("0:10:20:30:40:50:60:70:80:90:", future.join());
+        assertEquals(3, maxInFlight.get());
+
+        // No async elements
+        assertEquals("0:1:2:", engine.parse("{#each this concurrency=2}{it}:{/each}").render(data.subList(0, 3)));
+        assertEquals("", engine.parse("{#each this concurrency=2}{it}:{/each}").render(Collections.emptyList()));
+    }
+
+    @Test
+    public void testConcurrencyFailure() {
+        Engine engine = Engine.builder()
+                .addSectionHelper(new LoopSectionHelper.Factory())
+                .addDefaultValueResolvers()
+                .addValueResolver(ValueResolver.match(Integer.class).andMatch("fail")
+                        .resolveAsync(ctx -> {
+                            CompletableFuture<Object> future = new CompletableFuture<>();
+                            future.completeExceptionally(new IllegalArgumentException("" + ctx.getBase()));
+                            return future;
+                        }))
+                .build();
+        CompletableFuture<String> future = engine.parse("{#for i in this concurrency=2}{i.fail}{/for}").render()
+                .setData(Collections.singletonList(1)).getResultAsync().toCompletableFuture();
+        assertTrue(future.isCompletedExceptionally());
+        assertThrows(IllegalStateException.class,
+                () -> engine.parse("{#for i in this concurrency=zero}{i}{/for}"));
+    }
+
+    @Test
+    public void testChunk() {
+        AtomicInteger pulled = new AtomicInteger();
+        Iterable<Integer> rows = () -> new Iterator<Integer>() {
+
+            @Override
+            public boolean hasNext() {
+                return pulled.get() < 100;
+            }
+
+            @Override
+            public Integer next() {
+                return pulled.incrementAndGet();
+            }
+        };
+
+        Engine engine = Engine.builder()
+                .addSectionHelper(new LoopSectionHelper.Factory())
+                .addSectionHelper(new IfSectionHelper.Factory())
+                .addDefaultValueResolvers()
+                .build();
+
+        AtomicInteger emitted = new AtomicInteger();
+        engine.parse("{#for row in this chunk=10}{row}{/for}").render().setData(rows).consume(chunk -> {
+            // At most one chunk of elements is pulled in advance
+            assertTrue(pulled.get() - emitted.incrementAndGet() < 10, () -> pulled.get() + " pulled");
+        }).toCompletableFuture().join();
+        assertEquals(100, emitted.get());
+
+        assertEquals("1.a,2.b,3.c", engine.parse("{#each this chunk=2}{count}.{it}{#if hasNext},{/if}{/each}")
+                .render(IntStream.range(0, 3).mapToObj(i -> "" + (char) ('a' + i))));
+        assertEquals("", engine.parse("{#each this chunk=2}{it}{/each}").render(Collections.emptyList()));
+        assertThrows(IllegalStateException.class,
+                () -> engine.parse("{#each this chunk=2 concurrency=2}{it}{/each}"));
+    }
+
+    @Test
+    public void testChunkAsync() {
+        List<CompletableFuture<Object>> pending = new ArrayList<>();
+        Engine engine = Engine.builder()
+                .addSectionHelper(new LoopSectionHelper.Factory())
+                .addDefaultValueResolvers()
+                .addValueResolver(ValueResolver.match(Integer.class).andMatch("async")
+                        .resolveAsync(ctx -> {
+                            CompletableFuture<Object> future = new CompletableFuture<>();
+                            pending.add(future);
+                            return future.thenApply(v -> ctx.getBase());
+                        }))
+                .addValueResolver(ValueResolver.match(Integer.class).andMatch("fail")
+                        .resolveAsync(ctx -> {
+                            CompletableFuture<Object> future = new CompletableFuture<>();
+                            future.completeExceptionally(new IllegalArgumentException("" + ctx.getBase()));
+                            return future;
+                        }))
+                .build();
+
+        List<Integer> data = ImmutableList.of(1, 2, 3);
+        Template template = engine.parse("{#for i in this chunk=2}{i.async}:{/for}");
+        List<String> chunks = new ArrayList<>();
+        CompletableFuture<Void> future = template.render().setData(data).consume(chunks::add).toCompletableFuture();
+        // The first chunk is pulled but not resolved yet
+        assertFalse(future.isDone());
+        assertEquals(2, pending.size());
+        pending.get(0).complete(null);
+        assertEquals(ImmutableList.of("1", ":"), chunks);
+        // The next chunk is only pulled once the first chunk is flushed
+        assertEquals(2, pending.size());
+        pending.get(1).complete(null);
+        assertEquals(3, pending.size());
+        pending.get(2).complete(null);
+        assertTrue(future.isDone());
+        assertEquals("1:2:3:", String.join("", chunks));
+
+        // getResultAsync() does not block either
+        pending.clear();
+        CompletableFuture<String> result = template.render().setData(data).getResultAsync().toCompletableFuture();
+        while (!result.isDone()) {
+            pending.remove(0).complete(null);
+        }
+        assertEquals("1:2:3:", result.join());
+
+        CompletableFuture<String> failure = engine.parse("{#for i in this chunk=2}{i.fail}{/for}").render()
+                .setData(data).getResultAsync().toCompletableFuture();
+        assertTrue(failure.isCompletedExceptionally());
+        CompletionException e = assertThrows(CompletionException.class, failure::join);
+        assertTrue(e.getCause() instanceof IllegalArgumentException, () -> "" + e.getCause());
+    }
+
 }
@@ -4,6 +4,10 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 
 import org.junit.jupiter.api.Test;
@@ -98,6 +102,66 @@ public class ParserTest {
         assertEquals(8, find(template.getExpressions(), "item.name").origin.getLine());
     }
 
+    @Test
+    public void testTokens() {
+        Engine engine = Engine.builder().addDefaultSectionHelpers().addDefaultValueResolvers()
+                .build();
+        String content = "{@java.util.Map foo}\n"
+                + "{! This is a comment !}"
+                + "<style>{ color: red; }</style>\n"
+                + "{#for item in foo.items}\n\n"
+                + "{item.name}{#if hasNext},{:else}.{/if}"
+                + "{/}\r\n{{foo.name}}{#set bar=foo.name /}";
+        TemplateTokens tokens = TemplateTokens.tokenize(content);
+        assertEquals(tokens.getTokens(), TemplateTokens.of(tokens.getTokens()).getTokens());
+        // The comment is not included
+        assertEquals(content.replace("{! This is a comment !}", ""), tokens.toContent());
+
+        Template template = engine.parse(tokens);
+        Map<String, Object> foo = new HashMap<>();
+        foo.put("items", Arrays.asList(Collections.singletonMap("name", "a"), Collections.singletonMap("name", "b")));
+        foo.put("name", "Foo");
+        Map<String, Object> data = Collections.singletonMap("foo", foo);
+        assertEquals("\n<style>{ color: red; }</style>\n\n\na,\n\nb.\r\n{{foo.name}}", template.render(data));
+        assertEquals(engine.parse(content).render(data), template.render(data));
+        assertEquals(engine.parse(tokens.toContent()).render(data), template.render(data));
+        assertEquals(3, find(template.getExpressions(), "foo.items").origin.getLine());
+        assertEquals(5, find(template.getExpressions(), "item.name").origin.getLine());
+        assertEquals(5, find(engine.parse(content).getExpressions(), "item.name").origin.getLine());
+
+        // Long text is split into multiple tokens
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < Parser.MAX_TEXT_TOKEN_LENGTH + 10; i++) {
+            text.append(i % 10);
+        }
+        tokens = TemplateTokens.tokenize(text + "{foo}" + text);
+        assertEquals(5, tokens.getTokens().size());
+        assertEquals(text + "bar" + text, engine.parse(tokens).render(Collections.singletonMap("foo", "bar")));
+
+        try {
+            TemplateTokens.tokenize("Hello {name");
+            fail();
+        } catch (IllegalStateException expected) {
+        }
+    }
+
+    @Test
+    public void testBufferBoundaries() {
+        Engine engine = Engine.builder().addDefaultSectionHelpers().addDefaultValueResolvers()
+                .build();
+        Map<String, Object> data = Collections.singletonMap("foo", "bar");
+        for (int length = 8185; length < 8195; length++) {
+            StringBuilder text = new StringBuilder();
+            for (int i = 0; i < length; i++) {
+                text.append('a');
+            }
+            // CRLF, comments, escaped delimiters and tags span the boundary of the read buffer
+            Template template = engine.parse(text + "\r\n{! comment !}{ {{foo}}\n{#if true}{foo}{/if}");
+            assertEquals(text + "\r\n{ {{foo}}\nbar", template.render(data));
+            assertEquals(3, find(template.getExpressions(), "foo").origin.getLine());
+        }
+    }
+
     private void assertExpr(Set<Expression> expressions, String value, int parts, String typeCheckInfo) {
         Expression expr = find(expressions, value);
         assertEquals(parts, expr.parts.size());
@@ -109,4 +173,27 @@ public class ParserTest {
         return expressions.stream().filter(e -> e.toOriginalString().equals(val)).findAny().get();
     }
 
+    @Test
+    public void testCompactText() {
+        Engine engine = Engine.builder().addDefaultSectionHelpers().addDefaultValueResolvers()
+                .compactText(id -> id != null && id.endsWith(".html")).build();
+        // Adjacent text nodes are merged
+        Template template = engine.parse("Hello {! comment !}  world{! comment !}!");
+        assertEquals(1, ((TemplateImpl) template).root.blocks.get(0).nodes.size());
+        assertEquals("Hello   world!", template.render(null));
+        // Not merged by default
+        template = Engine.builder().addDefaultSectionHelpers().build().parse("Hello {! comment !}  world{! comment !}!");
+        assertEquals(3, ((TemplateImpl) template).root.blocks.get(0).nodes.size());
+        assertEquals("Hello   world!", template.render(null));
+
+        String html = "<ul>\n    {#for item in items}\n    <li title=\"a  b\">  {item}  </li>\n    {/for}\n</ul>\n"
+                + "{! comment !}  \n  <pre>\n  {items.size}  x\n</pre>  <textarea>  a  </textarea>\t\t<b>c</b>";
+        assertEquals("<ul>\n\n<li title=\"a  b\"> 1 </li>\n\n<li title=\"a  b\"> 2 </li>\n\n</ul>\n"
+                + "<pre>\n  2  x\n</pre> <textarea>  a  </textarea> <b>c</b>",
+                engine.parse(html, "list.html").render(Collections.singletonMap("items", Arrays.asList(1, 2))));
+        // Not an HTML template
+        assertEquals("<b>  c  </b>", engine.parse("<b>  c  </b>", "list.txt").render(null));
+        assertEquals("<b>  c  </b>", engine.parse("<b>  c  </b>").render(null));
+    }
+
 }
@@ -0,0 +1,87 @@
+package io.quarkus.qute;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import org.junit.jupiter.api.Test;
+
+import io.quarkus.qute.ReflectionValueResolver.AccessStrategy;
+
+public class ReflectionValueResolverTest {
+
+    @Test
+    public void testAccessStrategies() {
+        for (AccessStrategy strategy : AccessStrategy.values()) {
+            Engine engine = Engine.builder().addDefaultValueResolvers().addDefaultSectionHelpers()
+                    .addValueResolver(new ReflectionValueResolver(strategy)).build();
+            assertEquals("foo:10:true:bar:1:ALPHA:2:BRAVO",
+                    engine.parse("{item.name}:{item.price}:{item.active}:{item.note}:{hidden.name.length}:"
+                            + "{item.state}:{states.values.length}:{states.BRAVO}")
+                            .render().putData("item", new Item())
+                            .putData("hidden", new Hidden())
+                            .putData("states", State.class)
+                            .getResult(),
+                    strategy.toString());
+            try {
+                engine.parse("{item.broken}").render().putData("item", new Item()).getResult();
+                fail();
+            } catch (IllegalStateException expected) {
+                assertTrue(expected.getMessage().contains("Reflection invocation error"), strategy.toString());
+            }
+        }
+    }
+
+    @Test
+    public void testMemberCache() {
+        ReflectionValueResolver resolver = new ReflectionValueResolver();
+        Engine engine = Engine.builder().addDefaultValueResolvers().addValueResolver(resolver).build();
+        Template template = engine.parse("{item.name}:{item.name}:{item.missing}:{states.BRAVO}:{states.simpleName}");
+        assertEquals("foo:foo:NOT_FOUND:BRAVO:State",
+                template.render().putData("item", new Item()).putData("states", State.class).getResult());
+        // Item.name, Item.missing, State.BRAVO, State.simpleName (miss) and Class.simpleName
+        assertEquals(5, resolver.getMemberCacheSize());
+        resolver.clearMemberCache();
+        assertEquals(0, resolver.getMemberCacheSize());
+    }
+
+    public static class Item {
+
+        public final String note = "bar";
+
+        public String getName() {
+            return "foo";
+        }
+
+        public long price() {
+            return 10;
+        }
+
+        public boolean isActive() {
+            return true;
+        }
+
+        public State getState() {
+            return State.ALPHA;
+        }
+
+        public String getBroken() {
+            throw new UnsupportedOperationException();
+        }
+
+    }
+
+    static class Hidden {
+
+        public String getName() {
+            return "1";
+        }
+
+    }
+
+    public enum State {
+        ALPHA,
+        BRAVO
+    }
+
+}
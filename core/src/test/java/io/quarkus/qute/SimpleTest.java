@@ -1,14 +1,26 @@
 package io.quarkus.qute;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
 
@@ -16,6 +28,54 @@ import io.quarkus.qute.Results.Result;
 
 public class SimpleTest {
 
+    @Test
+    public void testMissingTemplateCache() {
+        AtomicInteger locates = new AtomicInteger();
+        Map<String, String> contents = new HashMap<>();
+        Engine engine = Engine.builder().addDefaultValueResolvers().addLocator(id -> {
+            locates.incrementAndGet();
+            String content = contents.get(id);
+            return content != null ? Optional.of(new StringReader(content)) : Optional.empty();
+        }).build();
+        assertNull(engine.getTemplate("foo"));
+        assertNull(engine.getTemplate("foo"));
+        assertEquals(1, locates.get());
+
+        contents.put("foo", "{this}");
+        assertNull(engine.getTemplate("foo"));
+        engine.removeTemplates("foo"::equals);
+        assertEquals("ok", engine.getTemplate("foo").render("ok"));
+        assertEquals(2, locates.get());
+
+        assertNull(engine.getTemplate("bar"));
+        engine.putTemplate("bar", engine.parse("bar"));
+        assertEquals("bar", engine.getTemplate("bar").render(null));
+        engine.clearTemplates();
+        assertNull(engine.getTemplate("bar"));
+        assertEquals(4, locates.get());
+    }
+
+    @Test
+    public void testMissingTemplateCacheBounded() {
+        AtomicInteger locates = new AtomicInteger();
+        EngineImpl engine = (EngineImpl) Engine.builder().addDefaultValueResolvers().addLocator(id -> {
+            locates.incrementAndGet();
+            return Optional.empty();
+        }).build();
+        assertNull(engine.getTemplate("foo"));
+        for (int i = 0; i < 2 * EngineImpl.MISSING_TEMPLATES_LIMIT; i++) {
+            assertNull(engine.getTemplate("bar" + i));
+            // Keep foo recently used
+            assertNull(engine.getTemplate("foo"));
+        }
+        assertEquals(EngineImpl.MISSING_TEMPLATES_LIMIT, engine.getMissingTemplateCount());
+        assertEquals(2 * EngineImpl.MISSING_TEMPLATES_LIMIT + 1, locates.get());
+        // The least recently used ids were removed
+        assertNull(engine.getTemplate("bar0"));
+        assertEquals(2 * EngineImpl.MISSING_TEMPLATES_LIMIT + 2, locates.get());
+        assertEquals(EngineImpl.MISSING_TEMPLATES_LIMIT, engine.getMissingTemplateCount());
+    }
+
     @Test
     public void testSimpleTemplate() {
         Map<String, String> item = new HashMap<>();
@@ -176,4 +236,222 @@ public class SimpleTest {
                         .render(Collections.emptyList()));
     }
 
+    @Test
+    public void testSyncRendering() {
+        Engine engine = Engine.builder().addDefaultSectionHelpers().addDefaultValueResolvers().build();
+        Map<String, Object> item = new HashMap<>();
+        item.put("name", "Lu");
+        item.put("active", true);
+        CompletableFuture<String> result = engine
+                .parse("{#for item in items}{#if item.active}{item.name}{#if hasNext},{/if}{/if}{/for}")
+                .render().putData("items", ImmutableList.of(item, item)).getResultAsync().toCompletableFuture();
+        // All values are available - the result is completed synchronously
+        assertTrue(result.isDone());
+        assertEquals("Lu,Lu", result.join());
+    }
+
+    @Test
+    public void testAsyncFallback() {
+        CompletableFuture<Object> name = new CompletableFuture<>();
+        Engine engine = Engine.builder().addDefaultSectionHelpers().addDefaultValueResolvers()
+                .addValueResolver(ValueResolver.match(String.class).andMatch("async").resolveAsync(ctx -> name).build())
+                .build();
+        CompletableFuture<String> result = engine.parse("{#for item in items}{item.async}:{item}{/for}")
+                .render().putData("items", ImmutableList.of("foo")).getResultAsync().toCompletableFuture();
+        assertFalse(result.isDone());
+        name.complete("bar");
+        assertTrue(result.isDone());
+        assertEquals("bar:foo", result.join());
+    }
+
+    @Test
+    public void testIncrementalRendering() {
+        CompletableFuture<Object> name = new CompletableFuture<>();
+        Engine engine = Engine.builder().addDefaultSectionHelpers().addDefaultValueResolvers()
+                .addValueResolver(ValueResolver.match(String.class).andMatch("async").resolveAsync(ctx -> name).build())
+                .build();
+        List<String> chunks = new ArrayList<>();
+        CompletableFuture<Void> result = engine.parse("Hello {#if active}{user}{/if}, {user.async}!")
+                .render().putData("active", true).putData("user", "foo").consume(chunks::add).toCompletableFuture();
+        // The leading results are flushed before the async value is resolved
+        assertEquals(ImmutableList.of("Hello ", "foo", ", "), chunks);
+        assertFalse(result.isDone());
+        name.complete("bar");
+        assertTrue(result.isDone());
+        assertEquals(ImmutableList.of("Hello ", "foo", ", ", "bar", "!"), chunks);
+    }
+
+    @Test
+    public void testIncrementalRenderingNested() {
+        List<CompletableFuture<Object>> pending = new ArrayList<>();
+        Engine engine = Engine.builder().addDefaultSectionHelpers().addDefaultValueResolvers()
+                .addValueResolver(ValueResolver.match(String.class).andMatch("async").resolveAsync(ctx -> {
+                    CompletableFuture<Object> value = new CompletableFuture<>();
+                    pending.add(value);
+                    return value.thenApply(v -> ctx.getBase().toString().toUpperCase());
+                }).build())
+                .build();
+        engine.putTemplate("layout", engine.parse("<html>{#insert body}{/insert}</html>"));
+        List<String> chunks = new ArrayList<>();
+        CompletableFuture<Void> result = engine
+                .parse("{#include layout}{:body}{#for item in items}<{item}:{item.async}>{/for}{/body}{/include}")
+                .render().putData("items", ImmutableList.of("foo", "bar")).consume(chunks::add).toCompletableFuture();
+        // The results of the layout and the loop are flushed before the async values are resolved
+        assertEquals(ImmutableList.of("<html>", "<", "foo", ":"), chunks);
+        assertEquals(2, pending.size());
+        // Complete the last element first - the output is still in order
+        pending.get(1).complete(null);
+        assertEquals(ImmutableList.of("<html>", "<", "foo", ":"), chunks);
+        pending.get(0).complete(null);
+        assertTrue(result.isDone());
+        assertEquals("<html><foo:FOO><bar:BAR></html>", String.join("", chunks));
+    }
+
+    @Test
+    public void testOutputSinks() throws IOException {
+        Template template = Engine.builder().addDefaultSectionHelpers().addDefaultValueResolvers().build()
+                .parse("Žluťoučký {name}{#for i in items} {i}{/for}!");
+        String expected = "Žluťoučký kůň 1 2!";
+
+        StringWriter writer = new StringWriter();
+        template.render().putData("name", "kůň").putData("items", ImmutableList.of(1, 2)).appendTo(writer)
+                .toCompletableFuture().join();
+        assertEquals(expected, writer.toString());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        template.render().putData("name", "kůň").putData("items", ImmutableList.of(1, 2)).writeTo(out)
+                .toCompletableFuture().join();
+        assertEquals(expected, new String(out.toByteArray(), StandardCharsets.UTF_8));
+
+        ByteArrayOutputStream buffers = new ByteArrayOutputStream();
+        template.render().putData("name", "kůň").putData("items", ImmutableList.of(1, 2)).consumeBytes(buffer -> {
+            while (buffer.hasRemaining()) {
+                buffers.write(buffer.get());
+            }
+        }).toCompletableFuture().join();
+        assertEquals(expected, new String(buffers.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testTextNodeBytes() {
+        // Two-byte, three-byte and four-byte characters, and an unpaired surrogate
+        String value = "Žluťoučký € \uD83D\uDE00 \uD800!";
+        TextNode node = new TextNode(value, null);
+        byte[] expected = value.getBytes(StandardCharsets.UTF_8);
+        // Measured without encoding
+        assertEquals(expected.length, node.getByteLength());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        node.process(ByteSink.of(out));
+        node.process(ByteSink.of(out));
+        assertEquals(new String(expected, StandardCharsets.UTF_8) + new String(expected, StandardCharsets.UTF_8),
+                new String(out.toByteArray(), StandardCharsets.UTF_8));
+        assertEquals(expected.length, node.getByteLength());
+    }
+
+    @Test
+    public void testExpressionAccessor() {
+        AtomicInteger accessed = new AtomicInteger();
+        Engine engine = Engine.builder().addDefaultSectionHelpers().addDefaultValueResolvers()
+                .addExpressionAccessor("[java.util.Map].foo", base -> {
+                    accessed.incrementAndGet();
+                    return base instanceof Map ? "compiled" : Result.NOT_FOUND;
+                }).build();
+        Template template = engine.parse("{@java.util.Map map}{map.foo}:{map.foo}");
+        assertEquals("compiled:compiled", template.render().putData("map", new HashMap<>()).getResult());
+        assertEquals(2, accessed.get());
+        // Fall back to the value resolvers
+        assertEquals("NOT_FOUND:NOT_FOUND", template.render().putData("map", "bar").getResult());
+        assertEquals(4, accessed.get());
+        // No type check info
+        assertEquals("bar", engine.parse("{map.foo}").render().putData("map", Collections.singletonMap("foo", "bar"))
+                .getResult());
+        assertEquals(4, accessed.get());
+    }
+
+    @Test
+    public void testInlineCache() {
+        AtomicInteger cacheableTests = new AtomicInteger();
+        AtomicInteger tests = new AtomicInteger();
+        Engine engine = Engine.builder().addDefaultSectionHelpers().addDefaultValueResolvers()
+                .addValueResolver(new ValueResolver() {
+
+                    @Override
+                    public boolean appliesTo(EvalContext context) {
+                        cacheableTests.incrementAndGet();
+                        return context.getBase() instanceof Integer;
+                    }
+
+                    @Override
+                    public boolean isAppliesToCacheable() {
+                        return true;
+                    }
+
+                    @Override
+                    public CompletionStage<Object> resolve(EvalContext context) {
+                        return CompletableFuture.completedFuture("int");
+                    }
+                })
+                .addValueResolver(ValueResolver.match(String.class).andAppliesTo(ctx -> {
+                    tests.incrementAndGet();
+                    return true;
+                }).resolve(ctx -> "string").build())
+                .build();
+        Template template = engine.parse("{#for item in items}{item.type}:{/for}");
+        assertEquals("int:string:int:", template.render().putData("items", ImmutableList.of(1, "foo", 2)).getResult());
+        assertEquals("int:string:int:", template.render().putData("items", ImmutableList.of(1, "foo", 2)).getResult());
+        // appliesTo() of the cacheable resolver is only tested once per base class: List, Mapper, Integer, String
+        assertEquals(4, cacheableTests.get());
+        // Non-cacheable resolver is always tested if the base class matches
+        assertEquals(2, tests.get());
+    }
+
+    @Test
+    public void testResolverDispatch() {
+        AtomicInteger tests = new AtomicInteger();
+        Engine engine = Engine.builder().addDefaultSectionHelpers().addDefaultValueResolvers()
+                .addValueResolver(new ValueResolver() {
+
+                    @Override
+                    public boolean appliesTo(EvalContext context) {
+                        tests.incrementAndGet();
+                        return true;
+                    }
+
+                    @Override
+                    public Set<Class<?>> getAppliesToBaseTypes() {
+                        return Collections.singleton(Number.class);
+                    }
+
+                    @Override
+                    public Set<String> getAppliesToNames() {
+                        return Collections.singleton("type");
+                    }
+
+                    @Override
+                    public CompletionStage<Object> resolve(EvalContext context) {
+                        return CompletableFuture.completedFuture("number");
+                    }
+                })
+                .addValueResolver(ValueResolver.match(Object.class).andMatch("type").resolve(ctx -> "object").build())
+                .build();
+        // The call site is megamorphic
+        Template template = engine.parse("{#for item in items}{item.type}:{/for}");
+        assertEquals("number:object:number:object:number:object:",
+                template.render().putData("items", ImmutableList.of(1, "foo", 2L, true, 3.0, 'c')).getResult());
+        // Only tested for numbers
+        assertEquals(3, tests.get());
+        assertEquals("NOT_FOUND", engine.parse("{num.size}").render().putData("num", 1).getResult());
+        assertEquals(3, tests.get());
+    }
+
+    @Test
+    public void testRenderingData() {
+        Engine engine = Engine.builder().addDefaultValueResolvers().build();
+        Template template = engine.parse("{foo}");
+        Template.Rendering rendering = template.render().putData("foo", "bar");
+        assertEquals(Collections.singletonMap("foo", "bar"), rendering.getData());
+        assertEquals("baz", rendering.setData("baz").getData());
+        assertTrue(template == rendering.getTemplate());
+    }
+
 }
@@ -0,0 +1,156 @@
+package io.quarkus.qute;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringReader;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+public class TemplateCacheTest {
+
+    @Test
+    public void testMaximumSize() {
+        AtomicInteger locates = new AtomicInteger();
+        TemplateCache cache = TemplateCache.builder().maximumWeight(2).build();
+        Engine engine = engine(cache, locates);
+
+        engine.getTemplate("a");
+        engine.getTemplate("b");
+        // "a" is the most recently used
+        engine.getTemplate("a");
+        engine.getTemplate("c");
+        assertEquals(3, locates.get());
+        engine.getTemplate("a");
+        engine.getTemplate("c");
+        assertEquals(3, locates.get());
+        // "b" was evicted
+        engine.getTemplate("b");
+        assertEquals(4, locates.get());
+
+        TemplateCache.Stats stats = cache.getStats();
+        assertEquals(4, stats.getMisses());
+        assertEquals(3, stats.getHits());
+        assertEquals(2, stats.getEvictions());
+        assertEquals(2, stats.getSize());
+        assertEquals(2, stats.getWeight());
+    }
+
+    @Test
+    public void testWeigher() {
+        TemplateCache cache = TemplateCache.builder().weigher(TemplateCache::textLength).maximumWeight(20).build();
+        Engine engine = Engine.builder().addDefaultSectionHelpers().templateCache(cache).build();
+        Template foo = engine.parse("{#if foo}0123456789{/if}");
+        assertEquals(3, TemplateCache.nodeCount(foo));
+        assertEquals(12, TemplateCache.textLength(foo));
+        engine.putTemplate("foo", foo);
+        engine.putTemplate("bar", engine.parse("0123456789"));
+        assertEquals(1, cache.getStats().getSize());
+        assertEquals(11, cache.getStats().getWeight());
+        assertEquals(1, cache.getStats().getEvictions());
+    }
+
+    @Test
+    public void testTtl() {
+        AtomicInteger locates = new AtomicInteger();
+        AtomicLong time = new AtomicLong();
+        TemplateCache cache = TemplateCache.builder().ttl(10, TimeUnit.NANOSECONDS).ticker(time::get).build();
+        Engine engine = engine(cache, locates);
+        engine.getTemplate("a");
+        time.set(10);
+        engine.getTemplate("a");
+        assertEquals(1, locates.get());
+        time.set(11);
+        engine.getTemplate("a");
+        assertEquals(2, locates.get());
+        assertEquals(1, cache.getStats().getEvictions());
+    }
+
+    @Test
+    public void testPinned() {
+        AtomicInteger locates = new AtomicInteger();
+        TemplateCache cache = TemplateCache.builder().maximumWeight(1).pinned(id -> id.startsWith("p")).build();
+        Engine engine = Engine.builder().addSectionHelper(new UserTagSectionHelper.Factory("tag")).templateCache(cache)
+                .addLocator(id -> {
+                    locates.incrementAndGet();
+                    return Optional.of(new StringReader(id));
+                }).build();
+        engine.getTemplate("tag");
+        engine.getTemplate("pa");
+        engine.getTemplate("a");
+        engine.getTemplate("b");
+        assertEquals(4, locates.get());
+        engine.getTemplate("tag");
+        engine.getTemplate("pa");
+        engine.getTemplate("b");
+        assertEquals(4, locates.get());
+        assertEquals(3, cache.getStats().getSize());
+        assertEquals(1, cache.getStats().getWeight());
+    }
+
+    @Test
+    public void testPinnedNotExpired() {
+        AtomicInteger locates = new AtomicInteger();
+        AtomicLong time = new AtomicLong();
+        TemplateCache cache = TemplateCache.builder().ttl(10, TimeUnit.NANOSECONDS).ticker(time::get)
+                .pinned(id -> id.startsWith("p")).build();
+        Engine engine = Engine.builder().addSectionHelper(new UserTagSectionHelper.Factory("tag")).templateCache(cache)
+                .addLocator(id -> {
+                    locates.incrementAndGet();
+                    return Optional.of(new StringReader(id));
+                }).build();
+        engine.getTemplate("tag");
+        engine.getTemplate("pa");
+        engine.getTemplate("a");
+        assertEquals(3, locates.get());
+        time.set(100);
+        engine.getTemplate("tag");
+        engine.getTemplate("pa");
+        assertEquals(3, locates.get());
+        // Not pinned
+        engine.getTemplate("a");
+        assertEquals(4, locates.get());
+        assertEquals(1, cache.getStats().getEvictions());
+    }
+
+    @Test
+    public void testReloadNotCounted() throws Exception {
+        AtomicInteger locates = new AtomicInteger();
+        TemplateCache cache = TemplateCache.builder().maximumWeight(2).build();
+        EngineImpl engine = (EngineImpl) engine(cache, locates);
+        engine.getTemplate("a");
+        assertTrue(cache.contains("a"));
+        assertFalse(cache.contains("b"));
+        assertNotNull(engine.reload("a").toCompletableFuture().get());
+        // Not requested yet
+        assertNull(engine.reload("b").toCompletableFuture().get());
+        assertEquals(2, locates.get());
+
+        TemplateCache.Stats stats = cache.getStats();
+        assertEquals(1, stats.getMisses());
+        assertEquals(0, stats.getHits());
+        assertEquals(1, stats.getSize());
+    }
+
+    private Engine engine(TemplateCache cache, AtomicInteger locates) {
+        Map<String, String> contents = new HashMap<>();
+        contents.put("a", "A");
+        contents.put("b", "B");
+        contents.put("c", "C");
+        return Engine.builder().templateCache(cache).addLocator(id -> {
+            locates.incrementAndGet();
+            String content = contents.get(id);
+            return content != null ? Optional.of(new StringReader(content)) : Optional.empty();
+        }).build();
+    }
+
+}
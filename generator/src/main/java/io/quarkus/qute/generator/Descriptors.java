@@ -1,7 +1,9 @@
 package io.quarkus.qute.generator;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.function.BiConsumer;
@@ -10,15 +12,21 @@ import io.quarkus.gizmo.FieldDescriptor;
 import io.quarkus.gizmo.MethodDescriptor;
 import io.quarkus.qute.EvalContext;
 import io.quarkus.qute.Results;
+import io.quarkus.qute.Results.Result;
 
 class Descriptors {
 
     static final MethodDescriptor IS_ASSIGNABLE_FROM = MethodDescriptor.ofMethod(Class.class, "isAssignableFrom",
             boolean.class, Class.class);
     static final MethodDescriptor GET_CLASS = MethodDescriptor.ofMethod(Object.class, "getClass", Class.class);
+    static final MethodDescriptor COLLECTION_ADD = MethodDescriptor.ofMethod(Collection.class, "add", boolean.class,
+            Object.class);
+    static final MethodDescriptor COLLECTIONS_SINGLETON = MethodDescriptor.ofMethod(Collections.class, "singleton",
+            Set.class, Object.class);
     static final MethodDescriptor COLLECTION_SIZE = MethodDescriptor.ofMethod(Collection.class, "size", int.class);
     static final MethodDescriptor EQUALS = MethodDescriptor.ofMethod(Object.class, "equals", boolean.class,
             Object.class);
+    static final MethodDescriptor HASH_CODE = MethodDescriptor.ofMethod(Object.class, "hashCode", int.class);
     static final MethodDescriptor GET_NAME = MethodDescriptor.ofMethod(EvalContext.class, "getName", String.class);
     static final MethodDescriptor GET_BASE = MethodDescriptor.ofMethod(EvalContext.class, "getBase", Object.class);
     static final MethodDescriptor GET_PARAMS = MethodDescriptor.ofMethod(EvalContext.class, "getParams", List.class);
@@ -26,6 +34,8 @@ class Descriptors {
             CompletionStage.class, String.class);
     static final MethodDescriptor INTEGER_COMPARE = MethodDescriptor.ofMethod(Integer.class, "compare", int.class,
             int.class, int.class);
+    static final MethodDescriptor MATH_MIN = MethodDescriptor.ofMethod(Math.class, "min", int.class, int.class,
+            int.class);
     static final MethodDescriptor LIST_GET = MethodDescriptor.ofMethod(List.class, "get", Object.class, int.class);
     static final MethodDescriptor COMPLETED_FUTURE = MethodDescriptor.ofMethod(CompletableFuture.class,
             "completedFuture", CompletableFuture.class, Object.class);
@@ -53,5 +63,7 @@ class Descriptors {
 
     static final FieldDescriptor RESULT_NOT_FOUND = FieldDescriptor.of(Results.class, "NOT_FOUND",
             CompletionStage.class);
+    static final FieldDescriptor RESULT_NOT_FOUND_CONSTANT = FieldDescriptor.of(Result.class, "NOT_FOUND",
+            Result.class);
 
 }
@@ -0,0 +1,212 @@
+package io.quarkus.qute.generator;
+
+import static io.quarkus.qute.generator.ExtensionMethodGenerator.sha1;
+import static io.quarkus.qute.generator.ValueResolverGenerator.generatedNameFromTarget;
+import static io.quarkus.qute.generator.ValueResolverGenerator.hasCompletionStageInTypeClosure;
+import static io.quarkus.qute.generator.ValueResolverGenerator.packageName;
+import static io.quarkus.qute.generator.ValueResolverGenerator.simpleName;
+import static io.quarkus.qute.generator.ValueResolverGenerator.skipMemberType;
+import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
+
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jboss.jandex.AnnotationTarget;
+import org.jboss.jandex.AnnotationTarget.Kind;
+import org.jboss.jandex.ClassInfo;
+import org.jboss.jandex.FieldInfo;
+import org.jboss.jandex.IndexView;
+import org.jboss.jandex.MethodInfo;
+import org.jboss.jandex.Type;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.quarkus.gizmo.BytecodeCreator;
+import io.quarkus.gizmo.ClassCreator;
+import io.quarkus.gizmo.ClassOutput;
+import io.quarkus.gizmo.FieldDescriptor;
+import io.quarkus.gizmo.MethodCreator;
+import io.quarkus.gizmo.MethodDescriptor;
+import io.quarkus.gizmo.ResultHandle;
+import io.quarkus.qute.ExpressionAccessor;
+
+/**
+ * Generates an {@link ExpressionAccessor} for a chain of properties, e.g. {@code name.length} for {@code item.name.length}.
+ * Each member is accessed directly; if the class of the object is not the expected class then
+ * {@link io.quarkus.qute.Results.Result#NOT_FOUND} is returned.
+ * <p>
+ * The accessor declares the value resolvers generated for the classes that declare the members, i.e. it's only used if
+ * the generated value resolvers would resolve the members in the interpreted mode.
+ * 
+ * @see ValueResolverGenerator#generatedResolverName(ClassInfo)
+ */
+public class ExpressionAccessorGenerator {
+
+    public static final String SUFFIX = "_ExpressionAccessor";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExpressionAccessorGenerator.class);
+
+    private final ClassOutput classOutput;
+    // Key of a chain of members -> generated class name
+    private final Map<String, String> generated;
+    private final Set<String> generatedTypes;
+
+    public ExpressionAccessorGenerator(ClassOutput classOutput) {
+        this.classOutput = classOutput;
+        this.generated = new HashMap<>();
+        this.generatedTypes = new HashSet<>();
+    }
+
+    public Set<String> getGeneratedTypes() {
+        return generatedTypes;
+    }
+
+    /**
+     * A member is supported if it's a public instance field or a public instance method with no params that does not
+     * return a {@link java.util.concurrent.CompletionStage}, i.e. it's handled synchronously by the generated value
+     * resolvers.
+     *
+     * @param member
+     * @param index
+     * @return {@code true} if the given member can be accessed by a generated accessor
+     */
+    public static boolean isSupported(AnnotationTarget member, IndexView index) {
+        if (member.kind() == Kind.FIELD) {
+            FieldInfo field = member.asField();
+            return Modifier.isPublic(field.flags()) && !Modifier.isStatic(field.flags());
+        } else if (member.kind() == Kind.METHOD) {
+            MethodInfo method = member.asMethod();
+            if (!Modifier.isPublic(method.flags()) || Modifier.isStatic(method.flags()) || !method.parameters().isEmpty()
+                    || method.returnType().kind() == Type.Kind.VOID) {
+                return false;
+            }
+            return skipMemberType(method.returnType())
+                    || !hasCompletionStageInTypeClosure(index.getClassByName(method.returnType().name()), index);
+        }
+        return false;
+    }
+
+    /**
+     *
+     * @param classes The classes the members are accessed on
+     * @param members The fields and methods with no params, one for each class
+     * @return the name of the generated class or {@code null} if some of the classes is not accessible from the generated
+     *         class
+     */
+    public String generate(List<ClassInfo> classes, List<AnnotationTarget> members) {
+        if (classes.isEmpty() || classes.size() != members.size()) {
+            throw new IllegalArgumentException("Invalid chain of members: " + members);
+        }
+        StringBuilder key = new StringBuilder();
+        for (int i = 0; i < classes.size(); i++) {
+            key.append(classes.get(i).name()).append("#").append(members.get(i)).append(";");
+        }
+        String existing = generated.get(key.toString());
+        if (existing != null) {
+            return existing;
+        }
+
+        ClassInfo baseClass = classes.get(0);
+        String baseName;
+        if (baseClass.enclosingClass() != null) {
+            baseName = simpleName(baseClass.enclosingClass()) + "_" + simpleName(baseClass);
+        } else {
+            baseName = simpleName(baseClass);
+        }
+        String generatedName = generatedNameFromTarget(packageName(baseClass.name()), baseName,
+                SUFFIX + "_" + sha1(key.toString()));
+        String generatedPackage = generatedName.contains("/")
+                ? generatedName.substring(0, generatedName.lastIndexOf('/')).replace('/', '.')
+                : "";
+        for (int i = 0; i < classes.size(); i++) {
+            if (!isAccessible(classes.get(i), generatedPackage) || !isAccessible(declaringClass(members.get(i)),
+                    generatedPackage)) {
+                LOGGER.debug("Unable to generate an accessor for {} - {} is not accessible", members, classes.get(i));
+                return null;
+            }
+        }
+        String generatedType = generatedName.replace('/', '.');
+        generated.put(key.toString(), generatedType);
+        generatedTypes.add(generatedType);
+        LOGGER.debug("Generating {} for {}", generatedType, members);
+
+        ClassCreator accessor = ClassCreator.builder().classOutput(classOutput).className(generatedName)
+                .interfaces(ExpressionAccessor.class).build();
+        implementAccess(accessor, classes, members);
+        implementGetBaseClasses(accessor, classes);
+        implementGetValueResolvers(accessor, members);
+        accessor.close();
+        return generatedType;
+    }
+
+    private static ClassInfo declaringClass(AnnotationTarget member) {
+        return member.kind() == Kind.FIELD ? member.asField().declaringClass() : member.asMethod().declaringClass();
+    }
+
+    private static boolean isAccessible(ClassInfo clazz, String generatedPackage) {
+        return Modifier.isPublic(clazz.flags()) || packageName(clazz.name()).equals(generatedPackage);
+    }
+
+    private void implementAccess(ClassCreator accessor, List<ClassInfo> classes, List<AnnotationTarget> members) {
+        MethodCreator access = accessor.getMethodCreator("access", Object.class, Object.class)
+                .setModifiers(ACC_PUBLIC);
+
+        ResultHandle value = access.getMethodParam(0);
+        for (int i = 0; i < classes.size(); i++) {
+            String className = classes.get(i).name().toString();
+            BytecodeCreator isNull = access.ifNull(value).trueBranch();
+            isNull.returnValue(isNull.readStaticField(Descriptors.RESULT_NOT_FOUND_CONSTANT));
+            // The class of the current object must match exactly - a subclass may be handled by other value resolvers
+            BytecodeCreator notMatching = access
+                    .ifNonZero(access.invokeVirtualMethod(Descriptors.EQUALS, access.loadClass(className),
+                            access.invokeVirtualMethod(Descriptors.GET_CLASS, value)))
+                    .falseBranch();
+            notMatching.returnValue(notMatching.readStaticField(Descriptors.RESULT_NOT_FOUND_CONSTANT));
+
+            ResultHandle base = access.checkCast(value, className);
+            AnnotationTarget member = members.get(i);
+            if (member.kind() == Kind.FIELD) {
+                value = access.readInstanceField(FieldDescriptor.of(member.asField()), base);
+            } else if (member.kind() == Kind.METHOD) {
+                MethodInfo method = member.asMethod();
+                if (Modifier.isInterface(method.declaringClass().flags())) {
+                    value = access.invokeInterfaceMethod(MethodDescriptor.of(method), base);
+                } else {
+                    value = access.invokeVirtualMethod(MethodDescriptor.of(method), base);
+                }
+            } else {
+                throw new IllegalArgumentException("Unsupported member: " + member);
+            }
+        }
+        access.returnValue(value);
+    }
+
+    private void implementGetBaseClasses(ClassCreator accessor, List<ClassInfo> classes) {
+        MethodCreator getBaseClasses = accessor.getMethodCreator("getBaseClasses", List.class)
+                .setModifiers(ACC_PUBLIC);
+        ResultHandle list = getBaseClasses.newInstance(MethodDescriptor.ofConstructor(ArrayList.class));
+        for (ClassInfo clazz : classes) {
+            getBaseClasses.invokeInterfaceMethod(Descriptors.COLLECTION_ADD, list,
+                    getBaseClasses.loadClass(clazz.name().toString()));
+        }
+        getBaseClasses.returnValue(list);
+    }
+
+    private void implementGetValueResolvers(ClassCreator accessor, List<AnnotationTarget> members) {
+        MethodCreator getValueResolvers = accessor.getMethodCreator("getValueResolvers", List.class)
+                .setModifiers(ACC_PUBLIC);
+        ResultHandle list = getValueResolvers.newInstance(MethodDescriptor.ofConstructor(ArrayList.class));
+        for (AnnotationTarget member : members) {
+            // Members are resolved by the value resolver generated for the declaring class
+            getValueResolvers.invokeInterfaceMethod(Descriptors.COLLECTION_ADD, list,
+                    getValueResolvers.load(ValueResolverGenerator.generatedResolverName(declaringClass(member))));
+        }
+        getValueResolvers.returnValue(list);
+    }
+
+}
@@ -1,6 +1,8 @@
 package io.quarkus.qute.generator;
 
 import static io.quarkus.qute.generator.ValueResolverGenerator.generatedNameFromTarget;
+import static io.quarkus.qute.generator.ValueResolverGenerator.implementGetAppliesToBaseTypes;
+import static io.quarkus.qute.generator.ValueResolverGenerator.implementGetAppliesToNames;
 import static io.quarkus.qute.generator.ValueResolverGenerator.packageName;
 import static io.quarkus.qute.generator.ValueResolverGenerator.simpleName;
 import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
@@ -9,6 +11,7 @@ import java.lang.reflect.Modifier;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
@@ -21,6 +24,7 @@ import org.jboss.jandex.AnnotationValue;
 import org.jboss.jandex.ClassInfo;
 import org.jboss.jandex.DotName;
 import org.jboss.jandex.MethodInfo;
+import org.jboss.jandex.Type;
 import org.jboss.jandex.Type.Kind;
 
 import io.quarkus.gizmo.AssignableResultHandle;
@@ -108,6 +112,14 @@ public class ExtensionMethodGenerator {
                 .interfaces(ValueResolver.class).build();
 
         implementAppliesTo(valueResolver, method, matchName);
+        implementIsAppliesToCacheable(valueResolver);
+        Type baseType = method.parameters().get(0);
+        if (baseType.kind() != Kind.PRIMITIVE) {
+            implementGetAppliesToBaseTypes(valueResolver, baseType.name().toString());
+        }
+        if (!matchName.equals(TemplateExtension.ANY)) {
+            implementGetAppliesToNames(valueResolver, Collections.singleton(matchName));
+        }
         implementResolve(valueResolver, declaringClass, method, matchName);
 
         valueResolver.close();
@@ -200,6 +212,13 @@ public class ExtensionMethodGenerator {
         resolve.returnValue(ret);
     }
 
+    private void implementIsAppliesToCacheable(ClassCreator valueResolver) {
+        // appliesTo() only tests the class of the base object, the name and the number of params
+        MethodCreator isAppliesToCacheable = valueResolver.getMethodCreator("isAppliesToCacheable", boolean.class)
+                .setModifiers(ACC_PUBLIC);
+        isAppliesToCacheable.returnValue(isAppliesToCacheable.load(true));
+    }
+
     private void implementAppliesTo(ClassCreator valueResolver, MethodInfo method, String matchName) {
         MethodCreator appliesTo = valueResolver.getMethodCreator("appliesTo", boolean.class, EvalContext.class)
                 .setModifiers(ACC_PUBLIC);
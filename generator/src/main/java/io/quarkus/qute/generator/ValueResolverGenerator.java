@@ -3,12 +3,17 @@ package io.quarkus.qute.generator;
 import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
 
 import java.lang.reflect.Modifier;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.function.BiConsumer;
@@ -107,14 +112,7 @@ public class ValueResolverGenerator {
 
         LOGGER.debug("Analyzing {}", clazzName);
 
-        String baseName;
-        if (clazz.enclosingClass() != null) {
-            baseName = simpleName(clazz.enclosingClass()) + "_" + simpleName(clazz);
-        } else {
-            baseName = simpleName(clazz);
-        }
-        String targetPackage = packageName(clazz.name());
-        String generatedName = generatedNameFromTarget(targetPackage, baseName, SUFFIX);
+        String generatedName = generatedName(clazz);
         generatedTypes.add(generatedName.replace('/', '.'));
 
         ClassCreator valueResolver = ClassCreator.builder().classOutput(classOutput).className(generatedName)
@@ -122,7 +120,11 @@ public class ValueResolverGenerator {
 
         implementGetPriority(valueResolver);
         implementAppliesTo(valueResolver, clazz);
-        implementResolve(valueResolver, clazzName, clazz, filters);
+        implementIsAppliesToCacheable(valueResolver);
+        Map<String, List<AnnotationTarget>> namedMembers = collectNamedMembers(clazz, filters);
+        implementGetAppliesToBaseTypes(valueResolver, clazz.name().toString());
+        implementGetAppliesToNames(valueResolver, namedMembers.keySet());
+        implementResolve(valueResolver, clazzName, clazz, namedMembers);
 
         valueResolver.close();
 
@@ -142,8 +144,53 @@ public class ValueResolverGenerator {
         getPriority.returnValue(getPriority.load(10));
     }
 
+    private void implementIsAppliesToCacheable(ClassCreator valueResolver) {
+        // appliesTo() only tests the class of the base object
+        MethodCreator isAppliesToCacheable = valueResolver.getMethodCreator("isAppliesToCacheable", boolean.class)
+                .setModifiers(ACC_PUBLIC);
+        isAppliesToCacheable.returnValue(isAppliesToCacheable.load(true));
+    }
+
+    static void implementGetAppliesToBaseTypes(ClassCreator valueResolver, String className) {
+        MethodCreator getBaseTypes = valueResolver.getMethodCreator("getAppliesToBaseTypes", Set.class)
+                .setModifiers(ACC_PUBLIC);
+        getBaseTypes.returnValue(getBaseTypes.invokeStaticMethod(Descriptors.COLLECTIONS_SINGLETON,
+                getBaseTypes.loadClass(className)));
+    }
+
+    static void implementGetAppliesToNames(ClassCreator valueResolver, Collection<String> names) {
+        MethodCreator getNames = valueResolver.getMethodCreator("getAppliesToNames", Set.class)
+                .setModifiers(ACC_PUBLIC);
+        ResultHandle set = getNames.newInstance(MethodDescriptor.ofConstructor(HashSet.class));
+        for (String name : names) {
+            getNames.invokeInterfaceMethod(Descriptors.COLLECTION_ADD, set, getNames.load(name));
+        }
+        getNames.returnValue(set);
+    }
+
+    private Map<String, List<AnnotationTarget>> collectNamedMembers(ClassInfo clazz, Predicate<AnnotationTarget> filter) {
+        // Group the members by the name they are matched by, e.g. "getFoo" and "foo" for the getter "getFoo"
+        Map<String, List<AnnotationTarget>> namedMembers = new LinkedHashMap<>();
+        for (FieldInfo field : clazz.fields()) {
+            if (filter.test(field)) {
+                LOGGER.debug("Field added: {}", field);
+                namedMembers.computeIfAbsent(field.name(), k -> new ArrayList<>()).add(field);
+            }
+        }
+        for (MethodInfo method : clazz.methods()) {
+            if (filter.test(method)) {
+                LOGGER.debug("Method added {}", method);
+                namedMembers.computeIfAbsent(method.name(), k -> new ArrayList<>()).add(method);
+                if (method.parameters().isEmpty() && isGetterName(method.name())) {
+                    namedMembers.computeIfAbsent(getPropertyName(method.name()), k -> new ArrayList<>()).add(method);
+                }
+            }
+        }
+        return namedMembers;
+    }
+
     private void implementResolve(ClassCreator valueResolver, String clazzName, ClassInfo clazz,
-            Predicate<AnnotationTarget> filter) {
+            Map<String, List<AnnotationTarget>> namedMembers) {
         MethodCreator resolve = valueResolver.getMethodCreator("resolve", CompletionStage.class, EvalContext.class)
                 .setModifiers(ACC_PUBLIC);
 
@@ -154,150 +201,172 @@ public class ValueResolverGenerator {
         ResultHandle params = resolve.invokeInterfaceMethod(Descriptors.GET_PARAMS, evalContext);
         ResultHandle paramsCount = resolve.invokeInterfaceMethod(Descriptors.COLLECTION_SIZE, params);
 
-        // Fields
-        List<FieldInfo> fields = clazz.fields().stream().filter(filter::test).collect(Collectors.toList());
-        if (!fields.isEmpty()) {
-            BytecodeCreator zeroParamsBranch = resolve.ifNonZero(paramsCount).falseBranch();
-            for (FieldInfo field : fields) {
-                LOGGER.debug("Field added: {}", field);
-                // Match field name
-                BytecodeCreator fieldMatch = zeroParamsBranch
-                        .ifNonZero(
-                                zeroParamsBranch.invokeVirtualMethod(Descriptors.EQUALS,
-                                        resolve.load(field.name()), name))
-                        .trueBranch();
-                ResultHandle value;
-                if (Modifier.isStatic(field.flags())) {
-                    value = fieldMatch
-                            .readStaticField(FieldDescriptor.of(clazzName, field.name(), field.type().name().toString()));
-                } else {
-                    value = fieldMatch
-                            .readInstanceField(FieldDescriptor.of(clazzName, field.name(), field.type().name().toString()),
-                                    base);
-                }
-                fieldMatch.returnValue(fieldMatch.invokeStaticMethod(Descriptors.COMPLETED_FUTURE, value));
+        if (!namedMembers.isEmpty()) {
+            // Binary search over the hash codes of member names, i.e. similar to a string switch
+            TreeMap<Integer, List<String>> hashes = new TreeMap<>();
+            for (String memberName : namedMembers.keySet()) {
+                hashes.computeIfAbsent(memberName.hashCode(), k -> new ArrayList<>()).add(memberName);
             }
+            ResultHandle hash = resolve.invokeVirtualMethod(Descriptors.HASH_CODE, name);
+            implementDispatch(resolve, hash, name, new ArrayList<>(hashes.entrySet()), 0, hashes.size() - 1,
+                    (nameMatched, memberName) -> {
+                        for (AnnotationTarget member : namedMembers.get(memberName)) {
+                            if (member.kind() == Kind.FIELD) {
+                                implementFieldMatch(nameMatched, clazzName, member.asField(), base, paramsCount);
+                            } else {
+                                implementMethodMatch(nameMatched, clazz, member.asMethod(), evalContext, base, params,
+                                        paramsCount);
+                            }
+                        }
+                    });
         }
+        resolve.returnValue(resolve.readStaticField(Descriptors.RESULT_NOT_FOUND));
+    }
 
-        // Methods
-        for (MethodInfo method : clazz.methods().stream().filter(filter::test).collect(Collectors.toList())) {
-            LOGGER.debug("Method added {}", method);
-            List<Type> methodParams = method.parameters();
-
-            BytecodeCreator matchScope = resolve.createScope();
-            // Match name
-            BytecodeCreator notMatched = matchScope.ifNonZero(matchScope.invokeVirtualMethod(Descriptors.EQUALS,
-                    matchScope.load(method.name()),
-                    name))
+    /**
+     * The code generated by the name consumer is only executed if the name matches. The execution continues after the
+     * dispatch if no member matches.
+     */
+    private void implementDispatch(BytecodeCreator creator, ResultHandle hash, ResultHandle name,
+            List<Entry<Integer, List<String>>> hashes, int low, int high, BiConsumer<BytecodeCreator, String> nameMatched) {
+        if (low == high) {
+            Entry<Integer, List<String>> entry = hashes.get(low);
+            BytecodeCreator hashMatched = creator
+                    .ifNonZero(creator.invokeStaticMethod(Descriptors.INTEGER_COMPARE, hash, creator.load(entry.getKey())))
                     .falseBranch();
-            // Match the property name for getters,  ie. "foo" for "getFoo"
-            if (methodParams.size() == 0 && isGetterName(method.name())) {
-                notMatched.ifNonZero(notMatched.invokeVirtualMethod(Descriptors.EQUALS,
-                        notMatched.load(getPropertyName(method.name())),
-                        name)).falseBranch().breakScope(matchScope);
-            } else {
-                notMatched.breakScope(matchScope);
+            for (String memberName : entry.getValue()) {
+                nameMatched.accept(hashMatched.ifNonZero(hashMatched.invokeVirtualMethod(Descriptors.EQUALS,
+                        hashMatched.load(memberName), name)).trueBranch(), memberName);
             }
-            // Match number of params
-            matchScope.ifNonZero(matchScope.invokeStaticMethod(Descriptors.INTEGER_COMPARE,
-                    matchScope.load(methodParams.size()), paramsCount)).trueBranch().breakScope(matchScope);
-
-            // Invoke the method
-            ResultHandle ret;
-            boolean hasCompletionStage = !skipMemberType(method.returnType())
-                    && hasCompletionStageInTypeClosure(index.getClassByName(method.returnType().name()), index);
-            if (method.parameters().size() > 0) {
-                // We need to evaluate the params 
-                ret = matchScope
-                        .newInstance(MethodDescriptor.ofConstructor(CompletableFuture.class));
-
-                ResultHandle resultsArray = matchScope.newArray(CompletableFuture.class,
-                        matchScope.load(methodParams.size()));
-                for (int i = 0; i < methodParams.size(); i++) {
-                    ResultHandle evalResult = matchScope.invokeInterfaceMethod(
-                            Descriptors.EVALUATE, evalContext,
-                            matchScope.invokeInterfaceMethod(Descriptors.LIST_GET, params,
-                                    matchScope.load(i)));
-                    matchScope.writeArrayValue(resultsArray, i,
-                            matchScope.invokeInterfaceMethod(Descriptors.CF_TO_COMPLETABLE_FUTURE, evalResult));
-                }
-                ResultHandle allOf = matchScope.invokeStaticMethod(Descriptors.COMPLETABLE_FUTURE_ALL_OF,
-                        resultsArray);
+            return;
+        }
+        int middle = (low + high + 1) >>> 1;
+        // Math.min(Integer.compare(hash, pivot), 0) is non-zero if hash < pivot
+        BranchResult lessThan = creator.ifNonZero(creator.invokeStaticMethod(Descriptors.MATH_MIN,
+                creator.invokeStaticMethod(Descriptors.INTEGER_COMPARE, hash, creator.load(hashes.get(middle).getKey())),
+                creator.load(0)));
+        implementDispatch(lessThan.trueBranch(), hash, name, hashes, low, middle - 1, nameMatched);
+        implementDispatch(lessThan.falseBranch(), hash, name, hashes, middle, high, nameMatched);
+    }
 
-                FunctionCreator whenCompleteFun = matchScope.createFunction(BiConsumer.class);
-                matchScope.invokeInterfaceMethod(Descriptors.CF_WHEN_COMPLETE, allOf, whenCompleteFun.getInstance());
+    private void implementFieldMatch(BytecodeCreator nameMatched, String clazzName, FieldInfo field, ResultHandle base,
+            ResultHandle paramsCount) {
+        BytecodeCreator fieldMatch = nameMatched.ifNonZero(paramsCount).falseBranch();
+        ResultHandle value;
+        if (Modifier.isStatic(field.flags())) {
+            value = fieldMatch
+                    .readStaticField(FieldDescriptor.of(clazzName, field.name(), field.type().name().toString()));
+        } else {
+            value = fieldMatch
+                    .readInstanceField(FieldDescriptor.of(clazzName, field.name(), field.type().name().toString()),
+                            base);
+        }
+        fieldMatch.returnValue(fieldMatch.invokeStaticMethod(Descriptors.COMPLETED_FUTURE, value));
+    }
 
-                BytecodeCreator whenComplete = whenCompleteFun.getBytecode();
+    private void implementMethodMatch(BytecodeCreator nameMatched, ClassInfo clazz, MethodInfo method,
+            ResultHandle evalContext, ResultHandle base, ResultHandle params, ResultHandle paramsCount) {
+        List<Type> methodParams = method.parameters();
+
+        BytecodeCreator matchScope = nameMatched.createScope();
+        // Match number of params
+        matchScope.ifNonZero(matchScope.invokeStaticMethod(Descriptors.INTEGER_COMPARE,
+                matchScope.load(methodParams.size()), paramsCount)).trueBranch().breakScope(matchScope);
+
+        // Invoke the method
+        ResultHandle ret;
+        boolean hasCompletionStage = !skipMemberType(method.returnType())
+                && hasCompletionStageInTypeClosure(index.getClassByName(method.returnType().name()), index);
+        if (method.parameters().size() > 0) {
+            // We need to evaluate the params 
+            ret = matchScope
+                    .newInstance(MethodDescriptor.ofConstructor(CompletableFuture.class));
+
+            ResultHandle resultsArray = matchScope.newArray(CompletableFuture.class,
+                    matchScope.load(methodParams.size()));
+            for (int i = 0; i < methodParams.size(); i++) {
+                ResultHandle evalResult = matchScope.invokeInterfaceMethod(
+                        Descriptors.EVALUATE, evalContext,
+                        matchScope.invokeInterfaceMethod(Descriptors.LIST_GET, params,
+                                matchScope.load(i)));
+                matchScope.writeArrayValue(resultsArray, i,
+                        matchScope.invokeInterfaceMethod(Descriptors.CF_TO_COMPLETABLE_FUTURE, evalResult));
+            }
+            ResultHandle allOf = matchScope.invokeStaticMethod(Descriptors.COMPLETABLE_FUTURE_ALL_OF,
+                    resultsArray);
 
-                // TODO workaround for https://github.com/quarkusio/gizmo/issues/6
-                AssignableResultHandle whenBase = whenComplete.createVariable(Object.class);
-                whenComplete.assign(whenBase, base);
-                AssignableResultHandle whenRet = whenComplete.createVariable(CompletableFuture.class);
-                whenComplete.assign(whenRet, ret);
-                AssignableResultHandle whenResults = whenComplete.createVariable(CompletableFuture[].class);
-                whenComplete.assign(whenResults, resultsArray);
-
-                BranchResult throwableIsNull = whenComplete.ifNull(whenComplete.getMethodParam(1));
-
-                // complete
-                BytecodeCreator success = throwableIsNull.trueBranch();
-
-                ResultHandle[] paramsHandle = new ResultHandle[methodParams.size()];
-                for (int i = 0; i < methodParams.size(); i++) {
-                    ResultHandle paramResult = success.readArrayValue(whenResults, i);
-                    paramsHandle[i] = success.invokeVirtualMethod(Descriptors.COMPLETABLE_FUTURE_GET, paramResult);
-                }
-                ResultHandle invokeRet;
-                if (Modifier.isInterface(clazz.flags())) {
-                    invokeRet = success.invokeInterfaceMethod(MethodDescriptor.of(method), whenBase, paramsHandle);
-                } else {
-                    invokeRet = success.invokeVirtualMethod(MethodDescriptor.of(method), whenBase, paramsHandle);
-                }
+            FunctionCreator whenCompleteFun = matchScope.createFunction(BiConsumer.class);
+            matchScope.invokeInterfaceMethod(Descriptors.CF_WHEN_COMPLETE, allOf, whenCompleteFun.getInstance());
 
-                if (hasCompletionStage) {
-                    FunctionCreator invokeWhenCompleteFun = success.createFunction(BiConsumer.class);
-                    success.invokeInterfaceMethod(Descriptors.CF_WHEN_COMPLETE, invokeRet, invokeWhenCompleteFun.getInstance());
-                    BytecodeCreator invokeWhenComplete = invokeWhenCompleteFun.getBytecode();
-
-                    // TODO workaround for https://github.com/quarkusio/gizmo/issues/6
-                    AssignableResultHandle invokeWhenRet = invokeWhenComplete.createVariable(CompletableFuture.class);
-                    invokeWhenComplete.assign(invokeWhenRet, whenRet);
-
-                    BranchResult invokeThrowableIsNull = invokeWhenComplete.ifNull(invokeWhenComplete.getMethodParam(1));
-                    BytecodeCreator invokeSuccess = invokeThrowableIsNull.trueBranch();
-                    invokeSuccess.invokeVirtualMethod(Descriptors.COMPLETABLE_FUTURE_COMPLETE, invokeWhenRet,
-                            invokeWhenComplete.getMethodParam(0));
-                    BytecodeCreator invokeFailure = invokeThrowableIsNull.falseBranch();
-                    invokeFailure.invokeVirtualMethod(Descriptors.COMPLETABLE_FUTURE_COMPLETE_EXCEPTIONALLY, invokeWhenRet,
-                            invokeWhenComplete.getMethodParam(1));
-                    invokeWhenComplete.returnValue(null);
-                } else {
-                    success.invokeVirtualMethod(Descriptors.COMPLETABLE_FUTURE_COMPLETE, whenRet, invokeRet);
-                }
+            BytecodeCreator whenComplete = whenCompleteFun.getBytecode();
+
+            // TODO workaround for https://github.com/quarkusio/gizmo/issues/6
+            AssignableResultHandle whenBase = whenComplete.createVariable(Object.class);
+            whenComplete.assign(whenBase, base);
+            AssignableResultHandle whenRet = whenComplete.createVariable(CompletableFuture.class);
+            whenComplete.assign(whenRet, ret);
+            AssignableResultHandle whenResults = whenComplete.createVariable(CompletableFuture[].class);
+            whenComplete.assign(whenResults, resultsArray);
+
+            BranchResult throwableIsNull = whenComplete.ifNull(whenComplete.getMethodParam(1));
 
-                // completeExceptionally
-                BytecodeCreator failure = throwableIsNull.falseBranch();
-                failure.invokeVirtualMethod(Descriptors.COMPLETABLE_FUTURE_COMPLETE_EXCEPTIONALLY, whenRet,
-                        whenComplete.getMethodParam(1));
-                whenComplete.returnValue(null);
+            // complete
+            BytecodeCreator success = throwableIsNull.trueBranch();
 
+            ResultHandle[] paramsHandle = new ResultHandle[methodParams.size()];
+            for (int i = 0; i < methodParams.size(); i++) {
+                ResultHandle paramResult = success.readArrayValue(whenResults, i);
+                paramsHandle[i] = success.invokeVirtualMethod(Descriptors.COMPLETABLE_FUTURE_GET, paramResult);
+            }
+            ResultHandle invokeRet;
+            if (Modifier.isInterface(clazz.flags())) {
+                invokeRet = success.invokeInterfaceMethod(MethodDescriptor.of(method), whenBase, paramsHandle);
             } else {
-                // No params
-                ResultHandle invokeRet;
-                if (Modifier.isInterface(clazz.flags())) {
-                    invokeRet = matchScope.invokeInterfaceMethod(MethodDescriptor.of(method), base);
-                } else {
-                    invokeRet = matchScope.invokeVirtualMethod(MethodDescriptor.of(method), base);
-                }
-                if (hasCompletionStage) {
-                    ret = invokeRet;
-                } else {
-                    ret = matchScope.invokeStaticMethod(Descriptors.COMPLETED_FUTURE, invokeRet);
-                }
+                invokeRet = success.invokeVirtualMethod(MethodDescriptor.of(method), whenBase, paramsHandle);
+            }
+
+            if (hasCompletionStage) {
+                FunctionCreator invokeWhenCompleteFun = success.createFunction(BiConsumer.class);
+                success.invokeInterfaceMethod(Descriptors.CF_WHEN_COMPLETE, invokeRet, invokeWhenCompleteFun.getInstance());
+                BytecodeCreator invokeWhenComplete = invokeWhenCompleteFun.getBytecode();
+
+                // TODO workaround for https://github.com/quarkusio/gizmo/issues/6
+                AssignableResultHandle invokeWhenRet = invokeWhenComplete.createVariable(CompletableFuture.class);
+                invokeWhenComplete.assign(invokeWhenRet, whenRet);
+
+                BranchResult invokeThrowableIsNull = invokeWhenComplete.ifNull(invokeWhenComplete.getMethodParam(1));
+                BytecodeCreator invokeSuccess = invokeThrowableIsNull.trueBranch();
+                invokeSuccess.invokeVirtualMethod(Descriptors.COMPLETABLE_FUTURE_COMPLETE, invokeWhenRet,
+                        invokeWhenComplete.getMethodParam(0));
+                BytecodeCreator invokeFailure = invokeThrowableIsNull.falseBranch();
+                invokeFailure.invokeVirtualMethod(Descriptors.COMPLETABLE_FUTURE_COMPLETE_EXCEPTIONALLY, invokeWhenRet,
+                        invokeWhenComplete.getMethodParam(1));
+                invokeWhenComplete.returnValue(null);
+            } else {
+                success.invokeVirtualMethod(Descriptors.COMPLETABLE_FUTURE_COMPLETE, whenRet, invokeRet);
+            }
+
+            // completeExceptionally
+            BytecodeCreator failure = throwableIsNull.falseBranch();
+            failure.invokeVirtualMethod(Descriptors.COMPLETABLE_FUTURE_COMPLETE_EXCEPTIONALLY, whenRet,
+                    whenComplete.getMethodParam(1));
+            whenComplete.returnValue(null);
+
+        } else {
+            // No params
+            ResultHandle invokeRet;
+            if (Modifier.isInterface(clazz.flags())) {
+                invokeRet = matchScope.invokeInterfaceMethod(MethodDescriptor.of(method), base);
+            } else {
+                invokeRet = matchScope.invokeVirtualMethod(MethodDescriptor.of(method), base);
+            }
+            if (hasCompletionStage) {
+                ret = invokeRet;
+            } else {
+                ret = matchScope.invokeStaticMethod(Descriptors.COMPLETED_FUTURE, invokeRet);
             }
-            matchScope.returnValue(ret);
         }
-        resolve.returnValue(resolve.readStaticField(Descriptors.RESULT_NOT_FOUND));
+        matchScope.returnValue(ret);
     }
 
     private void implementAppliesTo(ClassCreator valueResolver, ClassInfo clazz) {
@@ -345,7 +414,7 @@ public class ValueResolverGenerator {
 
     }
 
-    private boolean skipMemberType(Type type) {
+    static boolean skipMemberType(Type type) {
         switch (type.kind()) {
             case VOID:
             case PRIMITIVE:
@@ -490,6 +559,25 @@ public class ValueResolverGenerator {
         return name.substring(0, index);
     }
 
+    /**
+     * 
+     * @param clazz
+     * @return the fully qualified name of the value resolver generated for the given class
+     */
+    public static String generatedResolverName(ClassInfo clazz) {
+        return generatedName(clazz).replace('/', '.');
+    }
+
+    private static String generatedName(ClassInfo clazz) {
+        String baseName;
+        if (clazz.enclosingClass() != null) {
+            baseName = simpleName(clazz.enclosingClass()) + "_" + simpleName(clazz);
+        } else {
+            baseName = simpleName(clazz);
+        }
+        return generatedNameFromTarget(packageName(clazz.name()), baseName, SUFFIX);
+    }
+
     static String generatedNameFromTarget(String targetPackage, String baseName, String suffix) {
         if (targetPackage == null || targetPackage.isEmpty()) {
             return baseName + suffix;
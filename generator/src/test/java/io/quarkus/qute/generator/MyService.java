@@ -51,4 +51,13 @@ public class MyService {
         return CompletableFuture.completedFuture(param);
     }
 
+    // "Aa" and "BB" have the same hash code
+    public String Aa() {
+        return "Aa";
+    }
+
+    public String BB() {
+        return "BB";
+    }
+
 }
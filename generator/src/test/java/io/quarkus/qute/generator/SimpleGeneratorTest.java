@@ -1,16 +1,21 @@
 package io.quarkus.qute.generator;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
+import org.jboss.jandex.ClassInfo;
 import org.jboss.jandex.DotName;
 import org.jboss.jandex.Index;
 import org.jboss.jandex.Indexer;
@@ -18,16 +23,22 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
 import io.quarkus.qute.Engine;
+import io.quarkus.qute.EngineBuilder;
 import io.quarkus.qute.EvalContext;
 import io.quarkus.qute.Expression;
+import io.quarkus.qute.ExpressionAccessor;
 import io.quarkus.qute.IfSectionHelper;
 import io.quarkus.qute.ImmutableList;
+import io.quarkus.qute.Results.Result;
 import io.quarkus.qute.ValueResolver;
 import io.quarkus.qute.ValueResolvers;
 import io.quarkus.qute.generator.ValueResolverGenerator;
 
 public class SimpleGeneratorTest {
 
+    static String nameLengthAccessor;
+    static String activeAccessor;
+
     @BeforeAll
     public static void init() throws IOException {
         TestClassOutput classOutput = new TestClassOutput();
@@ -39,6 +50,18 @@ public class SimpleGeneratorTest {
         generator.generate(index.getClassByName(DotName.createSimple(MyItem.class.getName())));
         generator.generate(index.getClassByName(DotName.createSimple(String.class.getName())));
         generator.generate(index.getClassByName(DotName.createSimple(List.class.getName())));
+
+        ClassInfo myService = index.getClassByName(DotName.createSimple(MyService.class.getName()));
+        ClassInfo string = index.getClassByName(DotName.createSimple(String.class.getName()));
+        ExpressionAccessorGenerator accessorGenerator = new ExpressionAccessorGenerator(classOutput);
+        nameLengthAccessor = accessorGenerator.generate(Arrays.asList(myService, string),
+                Arrays.asList(myService.method("getName"), string.method("length")));
+        activeAccessor = accessorGenerator.generate(Collections.singletonList(myService),
+                Collections.singletonList(myService.method("isActive")));
+        // The same chain of members is only generated once
+        assertEquals(activeAccessor, accessorGenerator.generate(Collections.singletonList(myService),
+                Collections.singletonList(myService.method("isActive"))));
+        assertEquals(2, accessorGenerator.getGeneratedTypes().size());
     }
 
     @Test
@@ -46,6 +69,10 @@ public class SimpleGeneratorTest {
         Class<?> clazz = SimpleGeneratorTest.class.getClassLoader()
                 .loadClass("io.quarkus.qute.generator.MyService_ValueResolver");
         ValueResolver resolver = (ValueResolver) clazz.newInstance();
+        assertTrue(resolver.isAppliesToCacheable());
+        assertEquals(Collections.singleton(MyService.class), resolver.getAppliesToBaseTypes());
+        assertTrue(resolver.getAppliesToNames().containsAll(Arrays.asList("name", "getName", "active", "isActive", "getList")));
+        assertFalse(resolver.getAppliesToNames().contains("surname"));
         assertEquals("Foo",
                 resolver.resolve(new TestEvalContext(new MyService(), "getName", Collections.emptyList(), null))
                         .toCompletableFuture().get(1, TimeUnit.SECONDS).toString());
@@ -64,6 +91,16 @@ public class SimpleGeneratorTest {
         assertEquals("NOT_FOUND",
                 resolver.resolve(new TestEvalContext(new MyService(), "surname", Collections.emptyList(), null))
                         .toCompletableFuture().get(1, TimeUnit.SECONDS).toString());
+        // Members with the same hash code
+        assertEquals("Aa",
+                resolver.resolve(new TestEvalContext(new MyService(), "Aa", Collections.emptyList(), null))
+                        .toCompletableFuture().get(1, TimeUnit.SECONDS).toString());
+        assertEquals("BB",
+                resolver.resolve(new TestEvalContext(new MyService(), "BB", Collections.emptyList(), null))
+                        .toCompletableFuture().get(1, TimeUnit.SECONDS).toString());
+        assertEquals("NOT_FOUND",
+                resolver.resolve(new TestEvalContext(new MyService(), "C#", Collections.emptyList(), null))
+                        .toCompletableFuture().get(1, TimeUnit.SECONDS).toString());
     }
 
     @Test
@@ -80,6 +117,96 @@ public class SimpleGeneratorTest {
         assertEquals("OK", engine.parse("{#if this.getList(5).size == 5}OK{/if}").render(new MyService()));
         assertEquals("Martin NOT_FOUND", engine.parse("{name} {surname}").render(new PublicMyService()));
         assertEquals("foo NOT_FOUND", engine.parse("{id} {bar}").render(new MyItem()));
+        // String has many members
+        assertEquals("3 false FOO foo false NOT_FOUND",
+                engine.parse("{length} {empty} {toUpperCase} {toLowerCase} {isEmpty} {foo}").render("Foo"));
+    }
+
+    @Test
+    public void testExpressionAccessor() throws Exception {
+        ExpressionAccessor nameLength = newAccessor(nameLengthAccessor);
+        assertEquals(3, nameLength.access(new MyService()));
+        assertEquals(Result.NOT_FOUND, nameLength.access(new MyItem()));
+        assertEquals(Result.NOT_FOUND, nameLength.access(null));
+        assertEquals(true, newAccessor(activeAccessor).access(new MyService()));
+        assertEquals(Arrays.asList(MyService.class, String.class), nameLength.getBaseClasses());
+        assertEquals(Arrays.asList("io.quarkus.qute.generator.MyService_ValueResolver",
+                "io.quarkus.qute.String_ValueResolver"), nameLength.getValueResolvers());
+
+        ValueResolver myService = newResolver("io.quarkus.qute.generator.MyService_ValueResolver");
+        ValueResolver myItem = newResolver("io.quarkus.qute.generator.MyItem_ValueResolver");
+        ValueResolver string = newResolver("io.quarkus.qute.String_ValueResolver");
+
+        // String#length() is not handled by any of the value resolvers
+        assertCompiledResult("NOT_FOUND", 0, new MyService(), myService, myItem);
+        // Not an instance of MyService - the accessor falls back to value resolvers
+        assertCompiledResult("NOT_FOUND", 1, new MyItem(), myService, myItem, string);
+        // All parts are resolved by the generated value resolvers
+        assertCompiledResult("3", 1, new MyService(), myService, myItem, string);
+        // A value resolver with higher priority applies to MyService#name
+        assertCompiledResult("6", 0, new MyService(), myService, myItem, string,
+                new ValueResolver() {
+
+                    @Override
+                    public int getPriority() {
+                        return 20;
+                    }
+
+                    @Override
+                    public boolean appliesTo(EvalContext context) {
+                        return context.getBase() instanceof MyService && context.getName().equals("name");
+                    }
+
+                    @Override
+                    public CompletionStage<Object> resolve(EvalContext context) {
+                        return CompletableFuture.completedFuture("Martin");
+                    }
+                });
+    }
+
+    private void assertCompiledResult(String expected, int accessed, Object service, ValueResolver... resolvers)
+            throws Exception {
+        String template = "{@io.quarkus.qute.generator.MyService service}{service.name.length}";
+        ExpressionAccessor nameLength = newAccessor(nameLengthAccessor);
+        AtomicInteger count = new AtomicInteger();
+        ExpressionAccessor counting = new ExpressionAccessor() {
+
+            @Override
+            public Object access(Object base) {
+                count.incrementAndGet();
+                return nameLength.access(base);
+            }
+
+            @Override
+            public List<Class<?>> getBaseClasses() {
+                return nameLength.getBaseClasses();
+            }
+
+            @Override
+            public List<String> getValueResolvers() {
+                return nameLength.getValueResolvers();
+            }
+        };
+        EngineBuilder interpreted = Engine.builder().addDefaultSectionHelpers().addDefaultValueResolvers();
+        EngineBuilder compiled = Engine.builder().addDefaultSectionHelpers().addDefaultValueResolvers()
+                .addExpressionAccessor("[io.quarkus.qute.generator.MyService].name.length", counting);
+        for (ValueResolver resolver : resolvers) {
+            interpreted.addValueResolver(resolver);
+            compiled.addValueResolver(resolver);
+        }
+        // The result must be the same in both modes
+        assertEquals(expected, interpreted.build().parse(template).render().putData("service", service).getResult());
+        assertEquals(expected, compiled.build().parse(template).render().putData("service", service).getResult());
+        assertEquals(accessed, count.get());
+    }
+
+    private ExpressionAccessor newAccessor(String className)
+            throws ClassNotFoundException, InstantiationException, IllegalAccessException {
+        ClassLoader cl = Thread.currentThread().getContextClassLoader();
+        if (cl == null) {
+            cl = SimpleGeneratorTest.class.getClassLoader();
+        }
+        return (ExpressionAccessor) cl.loadClass(className).newInstance();
     }
 
     private ValueResolver newResolver(String className)
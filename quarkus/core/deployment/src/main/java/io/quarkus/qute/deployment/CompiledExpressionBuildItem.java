@@ -0,0 +1,26 @@
+package io.quarkus.qute.deployment;
+
+import io.quarkus.builder.item.MultiBuildItem;
+
+/**
+ * Represents a generated {@link io.quarkus.qute.ExpressionAccessor} bound to the expressions with the given type check info.
+ */
+public final class CompiledExpressionBuildItem extends MultiBuildItem {
+
+    private final String typeCheckInfo;
+    private final String className;
+
+    public CompiledExpressionBuildItem(String typeCheckInfo, String className) {
+        this.typeCheckInfo = typeCheckInfo;
+        this.className = className;
+    }
+
+    public String getTypeCheckInfo() {
+        return typeCheckInfo;
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+}
@@ -5,6 +5,7 @@ import static java.util.stream.Collectors.toMap;
 
 import java.io.IOException;
 import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
@@ -19,6 +20,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -29,6 +31,7 @@ import org.jboss.jandex.AnnotationTarget;
 import org.jboss.jandex.AnnotationTarget.Kind;
 import org.jboss.jandex.AnnotationValue;
 import org.jboss.jandex.ClassInfo;
+import org.jboss.jandex.ClassInfo.NestingType;
 import org.jboss.jandex.DotName;
 import org.jboss.jandex.FieldInfo;
 import org.jboss.jandex.IndexView;
@@ -69,9 +72,11 @@ import io.quarkus.qute.ResultNode;
 import io.quarkus.qute.SectionHelper;
 import io.quarkus.qute.SectionHelperFactory;
 import io.quarkus.qute.Template;
+import io.quarkus.qute.TemplateTokens;
 import io.quarkus.qute.api.ResourcePath;
 import io.quarkus.qute.api.VariantTemplate;
 import io.quarkus.qute.deployment.TemplatesAnalysisBuildItem.TemplateAnalysis;
+import io.quarkus.qute.generator.ExpressionAccessorGenerator;
 import io.quarkus.qute.generator.ExtensionMethodGenerator;
 import io.quarkus.qute.generator.ValueResolverGenerator;
 import io.quarkus.qute.runtime.DefaultTemplateExtensions;
@@ -381,26 +386,34 @@ public class QuteProcessor {
             BuildProducer<ReflectiveClassBuildItem> reflectiveClass) {
 
         IndexView index = beanArchiveIndex.getIndex();
+        IndexView appIndex = applicationArchivesBuildItem.getRootArchive().getIndex();
         Predicate<String> appClassPredicate = new Predicate<String>() {
             @Override
             public boolean test(String name) {
-                if (applicationArchivesBuildItem.getRootArchive().getIndex()
-                        .getClassByName(DotName.createSimple(name)) != null) {
+                if (appIndex.getClassByName(DotName.createSimple(name)) != null) {
                     return true;
                 }
                 // TODO generated classes?
                 return false;
             }
         };
+        // The class name cannot be derived from the name of a generated value resolver for nested classes
+        Set<String> appResolvers = new HashSet<>();
+        for (ClassInfo clazz : appIndex.getKnownClasses()) {
+            if (clazz.nestingType() == NestingType.TOP_LEVEL || clazz.nestingType() == NestingType.INNER) {
+                appResolvers.add(ValueResolverGenerator.generatedResolverName(clazz));
+            }
+        }
         ClassOutput classOutput = new ClassOutput() {
             @Override
             public void write(String name, byte[] data) {
+                boolean appClass;
                 int idx = name.lastIndexOf(ExtensionMethodGenerator.SUFFIX);
                 if (idx == -1) {
-                    idx = name.lastIndexOf(ValueResolverGenerator.SUFFIX);
+                    appClass = appResolvers.contains(name.replace('/', '.'));
+                } else {
+                    appClass = appClassPredicate.test(name.substring(0, idx).replace("/", "."));
                 }
-                String className = name.substring(0, idx).replace("/", ".");
-                boolean appClass = appClassPredicate.test(className);
                 LOGGER.debug("Writing {} [appClass={}]", name, appClass);
                 generatedClass.produce(new GeneratedClassBuildItem(appClass, name, data));
             }
@@ -452,6 +465,118 @@ public class QuteProcessor {
         }
     }
 
+    @BuildStep
+    void compileExpressions(QuteConfig config, TemplatesAnalysisBuildItem templatesAnalysis,
+            BeanArchiveIndexBuildItem beanArchiveIndex, ApplicationArchivesBuildItem applicationArchivesBuildItem,
+            List<TemplateExtensionMethodBuildItem> templateExtensionMethods,
+            List<GeneratedValueResolverBuildItem> generatedValueResolvers,
+            BuildProducer<GeneratedClassBuildItem> generatedClass,
+            BuildProducer<CompiledExpressionBuildItem> compiledExpressions,
+            BuildProducer<ReflectiveClassBuildItem> reflectiveClass) {
+
+        if (!config.compileExpressions) {
+            return;
+        }
+
+        IndexView index = beanArchiveIndex.getIndex();
+        IndexView appIndex = applicationArchivesBuildItem.getRootArchive().getIndex();
+        // The class name cannot be derived from the name of the generated class, e.g. for nested classes
+        AtomicBoolean appClass = new AtomicBoolean();
+        ClassOutput classOutput = new ClassOutput() {
+            @Override
+            public void write(String name, byte[] data) {
+                LOGGER.debug("Writing {} [appClass={}]", name, appClass.get());
+                generatedClass.produce(new GeneratedClassBuildItem(appClass.get(), name, data));
+            }
+        };
+        ExpressionAccessorGenerator generator = new ExpressionAccessorGenerator(classOutput);
+        Set<String> processed = new HashSet<>();
+        Set<String> resolvers = new HashSet<>();
+        for (GeneratedValueResolverBuildItem resolver : generatedValueResolvers) {
+            resolvers.add(resolver.getClassName());
+        }
+
+        for (TemplateAnalysis analysis : templatesAnalysis.getAnalysis()) {
+            for (Expression expression : analysis.expressions) {
+                if (expression.typeCheckInfo == null || expression.namespace != null || expression.parts.size() < 2
+                        || !processed.add(expression.typeCheckInfo)) {
+                    continue;
+                }
+                TypeCheckInfo typeCheckInfo = new TypeCheckInfo(expression.typeCheckInfo, index);
+                // All parts except the first one are compiled, e.g. "name" for "item.name"
+                int compiledParts = expression.parts.size() - 1;
+                if (typeCheckInfo.rawClass == null || typeCheckInfo.parts.size() < compiledParts) {
+                    continue;
+                }
+                Match match = new Match();
+                match.clazz = typeCheckInfo.rawClass;
+                match.type = typeCheckInfo.resolvedType;
+                String rootHint = typeCheckInfo.getHelperHint(TypeCheckInfo.ROOT_HINT);
+                if (rootHint != null) {
+                    processHints(rootHint, match, index);
+                }
+
+                List<ClassInfo> classes = new ArrayList<>();
+                List<AnnotationTarget> members = new ArrayList<>();
+                int firstCompiled = typeCheckInfo.parts.size() - compiledParts;
+                for (int i = 0; i < typeCheckInfo.parts.size(); i++) {
+                    String name = typeCheckInfo.parts.get(i);
+                    if (match.clazz == null || name.contains("(")) {
+                        break;
+                    }
+                    AnnotationTarget member = findProperty(name, match.clazz, index);
+                    if (member == null || findTemplateExtensionMethod(name, match.clazz, templateExtensionMethods) != null) {
+                        break;
+                    }
+                    if (i >= firstCompiled) {
+                        // Only compile the members resolved by the generated value resolvers
+                        if (!ExpressionAccessorGenerator.isSupported(member, index)
+                                || !resolvers.contains(ValueResolverGenerator.generatedResolverName(declaringClass(member)))) {
+                            break;
+                        }
+                        classes.add(match.clazz);
+                        members.add(member);
+                    }
+                    if (i + 1 == typeCheckInfo.parts.size()) {
+                        break;
+                    }
+                    match.type = resolveType(member, match, index);
+                    if (match.type.kind() == org.jboss.jandex.Type.Kind.PRIMITIVE) {
+                        break;
+                    }
+                    match.clazz = index.getClassByName(match.type.name());
+                    String helperHint = typeCheckInfo.getHelperHint(name);
+                    if (helperHint != null) {
+                        processHints(helperHint, match, index);
+                    }
+                }
+                if (members.size() == compiledParts) {
+                    appClass.set(false);
+                    for (int i = 0; i < classes.size(); i++) {
+                        if (appIndex.getClassByName(classes.get(i).name()) != null
+                                || appIndex.getClassByName(declaringClass(members.get(i)).name()) != null) {
+                            appClass.set(true);
+                        }
+                    }
+                    String accessorClass = generator.generate(classes, members);
+                    if (accessorClass != null) {
+                        compiledExpressions.produce(new CompiledExpressionBuildItem(expression.typeCheckInfo, accessorClass));
+                    }
+                } else {
+                    LOGGER.debug("Unable to compile expression {}", expression.toOriginalString());
+                }
+            }
+        }
+
+        for (String generatedType : generator.getGeneratedTypes()) {
+            reflectiveClass.produce(new ReflectiveClassBuildItem(false, false, generatedType));
+        }
+    }
+
+    private static ClassInfo declaringClass(AnnotationTarget member) {
+        return member.kind() == Kind.FIELD ? member.asField().declaringClass() : member.asMethod().declaringClass();
+    }
+
     @BuildStep
     void collectTemplates(QuteConfig config, ApplicationArchivesBuildItem applicationArchivesBuildItem,
             BuildProducer<HotDeploymentWatchedFileBuildItem> watchedPaths,
@@ -565,23 +690,34 @@ public class QuteProcessor {
     void initialize(QuteRecorder recorder, QuteConfig config,
             List<GeneratedValueResolverBuildItem> generatedValueResolvers, List<TemplatePathBuildItem> templatePaths,
             Optional<TemplateVariantsBuildItem> templateVariants,
+            List<CompiledExpressionBuildItem> compiledExpressions,
             BeanContainerBuildItem beanContainer,
             List<ServiceStartBuildItem> startedServices) {
 
         List<String> templates = new ArrayList<>();
         List<String> tags = new ArrayList<>();
+        // Template path -> tokens, i.e. the templates are not scanned at runtime
+        Map<String, List<String>> templateTokens = new HashMap<>();
         for (TemplatePathBuildItem templatePath : templatePaths) {
             if (templatePath.isTag()) {
                 tags.add(templatePath.getPath());
             } else {
                 templates.add(templatePath.getPath());
+                try {
+                    templateTokens.put(templatePath.getPath(), TemplateTokens.tokenize(
+                            new String(Files.readAllBytes(templatePath.getFullPath()), StandardCharsets.UTF_8)).getTokens());
+                } catch (IOException e) {
+                    LOGGER.warn("Unable to tokenize the template from path: " + templatePath.getFullPath(), e);
+                }
             }
         }
 
         recorder.initEngine(config, beanContainer.getValue(), generatedValueResolvers.stream()
                 .map(GeneratedValueResolverBuildItem::getClassName).collect(Collectors.toList()),
                 templates,
-                tags);
+                tags, compiledExpressions.stream().collect(
+                        toMap(CompiledExpressionBuildItem::getTypeCheckInfo, CompiledExpressionBuildItem::getClassName)),
+                templateTokens);
 
         Map<String, List<String>> variants;
         if (templateVariants.isPresent()) {
@@ -0,0 +1,100 @@
+package io.quarkus.qute.deployment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.qute.EngineBuilder;
+import io.quarkus.qute.EvalContext;
+import io.quarkus.qute.Results;
+import io.quarkus.qute.Template;
+import io.quarkus.qute.ValueResolver;
+import io.quarkus.qute.generator.ExpressionAccessorGenerator;
+import io.quarkus.test.QuarkusUnitTest;
+
+public class CompiledExpressionsTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest config = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(Foo.class, EngineConfigurator.class)
+                    .addAsResource(new StringAsset("quarkus.qute.compile-expressions=true"), "application.properties")
+                    .addAsResource(new StringAsset("{@java.util.List<io.quarkus.qute.deployment.Foo> list}"
+                            + "{#for foo in list}"
+                            + "{foo.name}={foo.age}={foo.charlie.name}"
+                            + "{/}"), "META-INF/resources/templates/foo.html"));
+
+    @Inject
+    Template foo;
+
+    @Inject
+    EngineConfigurator configurator;
+
+    @Test
+    public void testCompiledExpressions() {
+        Foo.Charlie.CALLERS.clear();
+        assertEquals("bravo=10=BRAVO",
+                foo.render().putData("list", Collections.singletonList(new Foo("bravo", 10l))).getResult());
+        // The getter is called by the generated accessor directly
+        assertEquals(1, Foo.Charlie.CALLERS.size());
+        assertTrue(Foo.Charlie.CALLERS.get(0).contains(ExpressionAccessorGenerator.SUFFIX), Foo.Charlie.CALLERS.toString());
+        // foo.age is not compiled because a value resolver with higher priority applies
+        assertFalse(configurator.bases.isEmpty());
+        assertTrue(configurator.bases.stream().allMatch(b -> b instanceof Foo), configurator.bases.toString());
+    }
+
+    @Singleton
+    public static class EngineConfigurator {
+
+        final List<Object> bases = new CopyOnWriteArrayList<>();
+
+        void configure(@Observes EngineBuilder builder) {
+            builder.addValueResolver(new ValueResolver() {
+
+                @Override
+                public int getPriority() {
+                    return Integer.MAX_VALUE;
+                }
+
+                @Override
+                public Set<Class<?>> getAppliesToBaseTypes() {
+                    return Collections.singleton(Foo.class);
+                }
+
+                @Override
+                public Set<String> getAppliesToNames() {
+                    return Collections.singleton("age");
+                }
+
+                @Override
+                public boolean appliesTo(EvalContext context) {
+                    bases.add(context.getBase());
+                    return false;
+                }
+
+                @Override
+                public CompletionStage<Object> resolve(EvalContext context) {
+                    return Results.NOT_FOUND;
+                }
+            });
+        }
+
+    }
+
+}
@@ -1,5 +1,8 @@
 package io.quarkus.qute.deployment;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
 class Foo {
 
     public String name;
@@ -15,6 +18,9 @@ class Foo {
     }
     
     public static class Charlie {
+
+        // The classes that called getName()
+        static final List<String> CALLERS = new CopyOnWriteArrayList<>();
         
         private String name;
         
@@ -23,6 +29,7 @@ class Foo {
         }
         
         public String getName() {
+            CALLERS.add(new Throwable().getStackTrace()[1].getClassName());
             return name;
         }
         
@@ -11,7 +11,16 @@ import java.io.InputStreamReader;
 import java.io.Reader;
 import java.nio.charset.Charset;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Event;
@@ -26,8 +35,10 @@ import io.quarkus.arc.Arc;
 import io.quarkus.arc.InstanceHandle;
 import io.quarkus.qute.Engine;
 import io.quarkus.qute.EngineBuilder;
+import io.quarkus.qute.ExpressionAccessor;
 import io.quarkus.qute.NamespaceResolver;
 import io.quarkus.qute.ReflectionValueResolver;
+import io.quarkus.qute.TemplateTokens;
 import io.quarkus.qute.Results.Result;
 import io.quarkus.qute.UserTagSectionHelper;
 import io.quarkus.qute.ValueResolver;
@@ -49,7 +60,8 @@ public class EngineProducer {
     private String basePath;
     private String tagPath;
 
-    void init(QuteConfig config, List<String> resolverClasses, List<String> templatePaths, List<String> tags) {
+    void init(QuteConfig config, List<String> resolverClasses, List<String> templatePaths, List<String> tags,
+            Map<String, String> accessorClasses, Map<String, List<String>> templateTokens) {
         if (engine != null) {
             LOGGER.warn("Qute already initialized!");
             return;
@@ -83,6 +95,11 @@ public class EngineProducer {
             builder.addValueResolver(createResolver(resolverClass));
             LOGGER.debug("Added generated value resolver: {}", resolverClass);
         }
+        // Add compiled expressions
+        for (Entry<String, String> entry : accessorClasses.entrySet()) {
+            builder.addExpressionAccessor(entry.getKey(), createAccessor(entry.getValue()));
+            LOGGER.debug("Added generated expression accessor {} for: {}", entry.getValue(), entry.getKey());
+        }
         // Add tags
         this.tags = tags;
         for (String tag : tags) {
@@ -91,14 +108,16 @@ public class EngineProducer {
             LOGGER.debug("Registered UserTagSectionHelper for {}", tagName);
             builder.addSectionHelper(new UserTagSectionHelper.Factory(tagName));
         }
+        if (config.compactText) {
+            // Templates are registered with the suffix but tags are not, e.g. items.html and item
+            builder.compactText(id -> id != null && (id.endsWith(".html") || tags.contains(id + ".html")));
+        }
         // Add locator
         builder.addLocator(this::locate);
         engine = builder.build();
 
         // Load discovered templates
-        for (String path : templatePaths) {
-            engine.getTemplate(path);
-        }
+        preload(templatePaths, templateTokens);
     }
 
     @Produces
@@ -119,6 +138,77 @@ public class EngineProducer {
         return suffixes;
     }
 
+    /**
+     * Templates are loaded concurrently if possible. Note that the templates referenced by a template, e.g. via include or
+     * a user tag, are not loaded together with the template - they are resolved lazily during rendering.
+     * 
+     * @param templatePaths
+     * @param templateTokens
+     */
+    private void preload(List<String> templatePaths, Map<String, List<String>> templateTokens) {
+        long start = System.nanoTime();
+        int parallelism = Math.min(templatePaths.size(), Runtime.getRuntime().availableProcessors());
+        preload(templatePaths, path -> preload(path, templateTokens.get(path)), parallelism);
+        LOGGER.debug("Preloaded {} templates in {} ms using {} threads", templatePaths.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), parallelism);
+    }
+
+    /**
+     * If a template cannot be loaded then the first failure is rethrown immediately and the remaining loads are
+     * cancelled.
+     * 
+     * @param templatePaths
+     * @param loader
+     * @param parallelism
+     */
+    static void preload(List<String> templatePaths, Consumer<String> loader, int parallelism) {
+        if (parallelism < 2) {
+            for (String path : templatePaths) {
+                loader.accept(path);
+            }
+            return;
+        }
+        // The locator uses the TCCL
+        ClassLoader tccl = Thread.currentThread().getContextClassLoader();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread thread = new Thread(r, "qute-preload");
+            thread.setContextClassLoader(tccl);
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            CompletionService<String> completionService = new ExecutorCompletionService<>(executor);
+            for (String path : templatePaths) {
+                completionService.submit(() -> loader.accept(path), path);
+            }
+            // Take the results in the order of completion so that a failure is not delayed by a slow template
+            for (int i = 0; i < templatePaths.size(); i++) {
+                completionService.take().get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void preload(String path, List<String> tokens) {
+        long start = System.nanoTime();
+        if (tokens != null) {
+            // Tokenized during the build
+            engine.putTemplate(path, engine.parse(TemplateTokens.of(tokens), path));
+        } else {
+            engine.getTemplate(path);
+        }
+        LOGGER.debug("Template {} loaded in {} ms", path, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
     private ValueResolver createResolver(String resolverClassName) {
         try {
             Class<?> resolverClazz = Thread.currentThread()
@@ -132,6 +222,19 @@ public class EngineProducer {
         }
     }
 
+    private ExpressionAccessor createAccessor(String accessorClassName) {
+        try {
+            Class<?> accessorClazz = Thread.currentThread()
+                    .getContextClassLoader().loadClass(accessorClassName);
+            if (ExpressionAccessor.class.isAssignableFrom(accessorClazz)) {
+                return (ExpressionAccessor) accessorClazz.newInstance();
+            }
+            throw new IllegalStateException("Not an expression accessor: " + accessorClassName);
+        } catch (InstantiationException | IllegalAccessException | ClassNotFoundException e) {
+            throw new IllegalStateException("Unable to create accessor: " + accessorClassName, e);
+        }
+    }
+
     /**
      * @param path
      * @return the optional reader
@@ -22,4 +22,23 @@ public class QuteConfig {
     @ConfigItem(defaultValue = "html,txt")
     public List<String> suffixes;
 
+    /**
+     * If set to {@code true} then the properties of type-safe expressions, such as {@code item.name} where the type of
+     * {@code item} is declared in the template, are accessed via accessors generated during the build. The value resolvers are only
+     * used to resolve the first part of such an expression or if the accessor cannot be used for the given object.
+     * <p>
+     * Only the properties resolved by the generated value resolvers are compiled. An accessor is not used if a value resolver
+     * with higher priority applies to a compiled part, i.e. the result is the same as if the expression was not compiled.
+     */
+    @ConfigItem(defaultValue = "false")
+    public boolean compileExpressions;
+
+    /**
+     * If set to {@code true} then the static text of templates is compacted during parsing, i.e. adjacent text nodes are
+     * merged and insignificant whitespace is collapsed in HTML templates. The whitespace inside the {@code pre},
+     * {@code textarea}, {@code script} and {@code style} elements is preserved.
+     */
+    @ConfigItem(defaultValue = "false")
+    public boolean compactText;
+
 }
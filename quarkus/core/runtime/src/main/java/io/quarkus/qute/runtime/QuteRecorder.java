@@ -19,9 +19,10 @@ public class QuteRecorder {
     private static final Logger LOGGER = LoggerFactory.getLogger(QuteRecorder.class);
 
     public void initEngine(QuteConfig config, BeanContainer container, List<String> resolverClasses,
-            List<String> templatePaths, List<String> tags) {
+            List<String> templatePaths, List<String> tags, Map<String, String> accessorClasses,
+            Map<String, List<String>> templateTokens) {
         EngineProducer producer = container.instance(EngineProducer.class);
-        producer.init(config, resolverClasses, templatePaths, tags);
+        producer.init(config, resolverClasses, templatePaths, tags, accessorClasses, templateTokens);
     }
 
     public void initVariants(BeanContainer container, Map<String, List<String>> variants) {
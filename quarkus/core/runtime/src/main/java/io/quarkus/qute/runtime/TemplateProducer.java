@@ -3,7 +3,6 @@ package io.quarkus.qute.runtime;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.util.Set;
-import java.util.function.Supplier;
 
 import javax.enterprise.inject.Produces;
 import javax.enterprise.inject.spi.AnnotatedParameter;
@@ -14,6 +13,7 @@ import javax.inject.Singleton;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.quarkus.qute.Engine;
 import io.quarkus.qute.Expression;
 import io.quarkus.qute.Template;
 import io.quarkus.qute.api.ResourcePath;
@@ -64,40 +64,58 @@ public class TemplateProducer {
 
     class InjectableTemplate implements Template {
 
-        private final Supplier<Template> template;
+        private final String path;
+        private final Iterable<String> suffixes;
+        // The id of the resolved template, i.e. path or path with suffix
+        private volatile String resolvedId;
 
         public InjectableTemplate(String path, Iterable<String> suffixes) {
-            this.template = () -> {
-                Template template = engineProducer.getEngine().getTemplate(path);
-                if (template == null) {
-                    // Try path with suffixes
-                    for (String suffix : suffixes) {
-                        template = engineProducer.getEngine().getTemplate(path + "." + suffix);
-                        if (template != null) {
-                            break;
-                        }
-                    }
-                    if (template == null) {
-                        throw new IllegalStateException("No template found for path: " + path);
+            this.path = path;
+            this.suffixes = suffixes;
+        }
+
+        private Template template() {
+            Engine engine = engineProducer.getEngine();
+            String id = resolvedId;
+            if (id != null) {
+                // Note that the template may have been removed from the cache in the dev mode
+                Template template = engine.getTemplate(id);
+                if (template != null) {
+                    return template;
+                }
+            }
+            Template template = engine.getTemplate(path);
+            id = path;
+            if (template == null) {
+                // Try path with suffixes
+                for (String suffix : suffixes) {
+                    id = path + "." + suffix;
+                    template = engine.getTemplate(id);
+                    if (template != null) {
+                        break;
                     }
                 }
-                return template;
-            };
+                if (template == null) {
+                    throw new IllegalStateException("No template found for path: " + path);
+                }
+            }
+            resolvedId = id;
+            return template;
         }
 
         @Override
         public Rendering render() {
-            return template.get().render();
+            return template().render();
         }
 
         @Override
         public Set<Expression> getExpressions() {
-            return template.get().getExpressions();
+            return template().getExpressions();
         }
 
         @Override
         public String getGeneratedId() {
-            return template.get().getGeneratedId();
+            return template().getGeneratedId();
         }
         
     }
@@ -1,7 +1,9 @@
 package io.quarkus.qute.runtime;
 
+import java.io.OutputStream;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -11,7 +13,6 @@ import java.util.Set;
 import java.util.concurrent.CompletionStage;
 import java.util.function.Consumer;
 
-import javax.enterprise.inject.Instance;
 import javax.enterprise.inject.Produces;
 import javax.enterprise.inject.Typed;
 import javax.enterprise.inject.spi.AnnotatedParameter;
@@ -23,7 +24,6 @@ import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import io.quarkus.qute.Engine;
 import io.quarkus.qute.Expression;
 import io.quarkus.qute.RenderingBase;
 import io.quarkus.qute.Template;
@@ -37,7 +37,7 @@ public class VariantTemplateProducer {
     private static final Logger LOGGER = LoggerFactory.getLogger(VariantTemplateProducer.class);
 
     @Inject
-    Instance<Engine> engine;
+    EngineProducer engineProducer;
 
     private Map<String, TemplateVariants> templateVariants;
 
@@ -94,6 +94,8 @@ public class VariantTemplateProducer {
     class VariantTemplateImpl implements VariantTemplate {
 
         private final String baseName;
+        // Bound lazily - the producer may not be initialized yet
+        private volatile TemplateVariants variants;
 
         VariantTemplateImpl(String baseName) {
             this.baseName = baseName;
@@ -101,7 +103,12 @@ public class VariantTemplateProducer {
 
         @Override
         public Rendering render() {
-            return new VariantRenderingImpl(templateVariants.get(baseName));
+            TemplateVariants variants = this.variants;
+            if (variants == null) {
+                variants = templateVariants.get(baseName);
+                this.variants = variants;
+            }
+            return new VariantRenderingImpl(variants);
         }
 
         @Override
@@ -145,10 +152,33 @@ public class VariantTemplateProducer {
             return template().render().setData(data()).consume(consumer);
         }
 
+        @Override
+        public CompletionStage<Void> appendTo(Appendable appendable) {
+            return template().render().setData(data()).appendTo(appendable);
+        }
+
+        @Override
+        public CompletionStage<Void> writeTo(OutputStream out) {
+            return template().render().setData(data()).writeTo(out);
+        }
+
+        @Override
+        public CompletionStage<Void> consumeBytes(Consumer<ByteBuffer> consumer) {
+            return template().render().setData(data()).consumeBytes(consumer);
+        }
+
+        /**
+         * Note that the result depends on the selected variant.
+         */
+        @Override
+        public Template getTemplate() {
+            return template();
+        }
+
         private Template template() {
             Variant selected = (Variant) getAttribute(VariantTemplate.SELECTED_VARIANT);
             String name = selected != null ? variants.variantToTemplate.get(selected) : variants.defaultTemplate;
-            return engine.get().getTemplate(name);
+            return engineProducer.getEngine().getTemplate(name);
         }
 
     }
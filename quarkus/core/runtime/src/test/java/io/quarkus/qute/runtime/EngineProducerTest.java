@@ -0,0 +1,70 @@
+package io.quarkus.qute.runtime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+public class EngineProducerTest {
+
+    private static final List<String> PATHS = Arrays.asList("a.html", "b.html", "c.html", "d.html");
+
+    @Test
+    public void testPreloadParallel() {
+        // All the templates must be loaded at the same time to pass the barrier
+        CyclicBarrier barrier = new CyclicBarrier(PATHS.size());
+        EngineProducer.preload(PATHS, path -> {
+            try {
+                barrier.await(10, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }, PATHS.size());
+    }
+
+    @Test
+    public void testPreloadFailure() {
+        for (int parallelism : new int[] { 1, PATHS.size() }) {
+            IllegalStateException e = assertThrows(IllegalStateException.class,
+                    () -> EngineProducer.preload(PATHS, path -> {
+                        if (path.equals("b.html")) {
+                            throw new IllegalStateException("Parser error in " + path);
+                        }
+                    }, parallelism));
+            assertEquals("Parser error in b.html", e.getMessage());
+        }
+
+        // The failure is not delayed by a slow template and the remaining loads are cancelled
+        CountDownLatch never = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        CountDownLatch cancelled = new CountDownLatch(1);
+        assertThrows(IllegalStateException.class, () -> EngineProducer.preload(PATHS, path -> {
+            if (path.equals("a.html")) {
+                try {
+                    never.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    interrupted.set(true);
+                } finally {
+                    cancelled.countDown();
+                }
+            } else if (path.equals("b.html")) {
+                throw new IllegalStateException("Parser error in " + path);
+            }
+        }, PATHS.size()));
+        try {
+            assertTrue(cancelled.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+        assertTrue(interrupted.get());
+    }
+
+}
@@ -0,0 +1,177 @@
+package io.quarkus.qute.resteasy;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+
+import javax.ws.rs.core.MediaType;
+
+/**
+ * LRU cache of rendered responses. The total size of cached responses is bounded. Each entry weighs at least
+ * {@link #ENTRY_OVERHEAD}, i.e. the number of entries is bounded as well. The size of a retained data object cannot be
+ * measured - it is estimated as {@link #DATA_OVERHEAD}.
+ *
+ * @see TemplateResponseFilter#RESPONSE_CACHE
+ */
+class ResponseCache {
+
+    static final long DEFAULT_MAXIMUM_SIZE = 16 * 1024 * 1024;
+    // The approximate size of an entry regardless of the response, i.e. the key, the ETag, etc.
+    static final long ENTRY_OVERHEAD = 256;
+    // The estimated size of a retained data object
+    static final long DATA_OVERHEAD = 1024;
+
+    private final long maximumSize;
+
+    // All fields below are guarded by this
+    // Access-ordered, i.e. the eldest entry is the least recently used
+    private final LinkedHashMap<Key, CachedResponse> entries;
+    private long size;
+
+    ResponseCache(long maximumSize) {
+        this.maximumSize = maximumSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     *
+     * @param key
+     * @param data The data the response was rendered with or {@code null} if a caller-supplied fingerprint is used
+     * @return the cached response or {@code null}
+     */
+    synchronized CachedResponse get(Key key, Object data) {
+        CachedResponse response = entries.get(key);
+        if (response == null) {
+            return null;
+        }
+        if (response.data != null) {
+            if (!response.data.equals(data)) {
+                // Fingerprint collision or the data was modified
+                return null;
+            }
+        } else if (data != null) {
+            return null;
+        }
+        return response;
+    }
+
+    synchronized void put(Key key, CachedResponse response) {
+        if (response.weight > maximumSize) {
+            return;
+        }
+        CachedResponse previous = entries.put(key, response);
+        if (previous != null) {
+            size -= previous.weight;
+        }
+        size += response.weight;
+        for (Iterator<CachedResponse> it = entries.values().iterator(); size > maximumSize && it.hasNext();) {
+            size -= it.next().weight;
+            it.remove();
+        }
+    }
+
+    synchronized long getSize() {
+        return size;
+    }
+
+    synchronized int getEntryCount() {
+        return entries.size();
+    }
+
+    static final class Key {
+
+        private final String templateId;
+        private final MediaType mediaType;
+        private final Object fingerprint;
+        private final int hashCode;
+
+        Key(String templateId, MediaType mediaType, Object fingerprint) {
+            this.templateId = templateId;
+            this.mediaType = mediaType;
+            this.fingerprint = fingerprint;
+            this.hashCode = Objects.hash(templateId, mediaType, fingerprint);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return Objects.equals(templateId, other.templateId) && Objects.equals(mediaType, other.mediaType)
+                    && Objects.equals(fingerprint, other.fingerprint);
+        }
+
+    }
+
+    static final class CachedResponse {
+
+        // Null if a caller-supplied fingerprint is used
+        final Object data;
+        // Either byte[] or String
+        final Object entity;
+        final MediaType mediaType;
+        final String etag;
+        final long weight;
+
+        CachedResponse(Object data, Object entity, MediaType mediaType) {
+            this.data = data;
+            this.entity = entity;
+            this.mediaType = mediaType;
+            this.etag = etag(entity instanceof byte[] ? (byte[]) entity
+                    : entity.toString().getBytes(StandardCharsets.UTF_8));
+            this.weight = ENTRY_OVERHEAD + (data != null ? DATA_OVERHEAD : 0)
+                    + (entity instanceof byte[] ? ((byte[]) entity).length : 2L * entity.toString().length());
+        }
+
+        /**
+         *
+         * @param ifNoneMatch The value of the {@code If-None-Match} header
+         * @return {@code true} if the client already has the response
+         */
+        boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null) {
+                return false;
+            }
+            for (String tag : ifNoneMatch.split(",")) {
+                tag = tag.trim();
+                // Weak comparison
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals("*") || tag.equals(etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static String etag(byte[] content) {
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+                StringBuilder etag = new StringBuilder("\"");
+                // The first 128 bits are enough
+                for (int i = 0; i < 16; i++) {
+                    etag.append(Character.forDigit((digest[i] >> 4) & 0xF, 16))
+                            .append(Character.forDigit(digest[i] & 0xF, 16));
+                }
+                return etag.append('"').toString();
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+    }
+
+}
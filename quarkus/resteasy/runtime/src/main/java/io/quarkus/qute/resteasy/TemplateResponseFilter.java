@@ -3,13 +3,16 @@ package io.quarkus.qute.resteasy;
 import static io.quarkus.qute.api.VariantTemplate.SELECTED_VARIANT;
 import static io.quarkus.qute.api.VariantTemplate.VARIANTS;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import javax.ws.rs.container.ContainerRequestContext;
 import javax.ws.rs.container.ContainerResponseContext;
 import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.ext.Provider;
@@ -20,18 +23,39 @@ import io.quarkus.qute.Template;
 import io.quarkus.qute.Template.Rendering;
 import io.quarkus.qute.api.Variant;
 import io.quarkus.qute.api.VariantTemplate;
+import io.quarkus.qute.resteasy.ResponseCache.CachedResponse;
 
 @Provider
 public class TemplateResponseFilter implements ContainerResponseFilter {
 
+    /**
+     * Rendering attribute key - if set then the rendered response is cached. The value is the fingerprint of the data,
+     * i.e. a response rendered from the same template with the same fingerprint is reused. If the value is
+     * {@link Boolean#TRUE} then the data object itself is used as the fingerprint, i.e. it must implement
+     * {@link Object#equals(Object)} and {@link Object#hashCode()} and must not be modified afterwards. The cache retains the
+     * data object, i.e. a response is reused for any equal data object. If the value is {@link Boolean#FALSE} then the
+     * response is not cached.
+     * <p>
+     * A cached response is never rendered again and the {@code ETag} header is set. Moreover, if the {@code If-None-Match}
+     * request header matches then the response status is 304.
+     */
+    public static final String RESPONSE_CACHE = "responseCache";
+
+    private final ResponseCache cache;
+
+    public TemplateResponseFilter() {
+        this(new ResponseCache(ResponseCache.DEFAULT_MAXIMUM_SIZE));
+    }
+
+    TemplateResponseFilter(ResponseCache cache) {
+        this.cache = cache;
+    }
+
     @Override
     public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext)
             throws IOException {
         Object entity = responseContext.getEntity();
         if (entity instanceof Template.Rendering) {
-            SuspendableContainerResponseContext ctx = (SuspendableContainerResponseContext) responseContext;
-            ctx.suspend();
-
             MediaType mediaType;
             Template.Rendering rendering = (Rendering) entity;
 
@@ -55,27 +79,88 @@ public class TemplateResponseFilter implements ContainerResponseFilter {
                 mediaType = null;
             }
 
+            Object cacheAttribute = rendering.getAttribute(RESPONSE_CACHE);
+            Object cachedData = Boolean.TRUE.equals(cacheAttribute) ? rendering.getData() : null;
+            // The response is not cached if the template or the data is not known
+            Template template = cacheAttribute != null && !Boolean.FALSE.equals(cacheAttribute)
+                    && (cachedData != null || !Boolean.TRUE.equals(cacheAttribute)) ? rendering.getTemplate() : null;
+            ResponseCache.Key cacheKey;
+            if (template != null) {
+                cacheKey = new ResponseCache.Key(template.getGeneratedId(), mediaType,
+                        cachedData != null ? cachedData.hashCode() : cacheAttribute);
+                CachedResponse cached = cache.get(cacheKey, cachedData);
+                if (cached != null) {
+                    // Skip rendering completely
+                    writeResponse(requestContext, responseContext, cached);
+                    return;
+                }
+            } else {
+                cacheKey = null;
+            }
+
+            SuspendableContainerResponseContext ctx = (SuspendableContainerResponseContext) responseContext;
+            ctx.suspend();
             try {
-                rendering.getResultAsync()
-                        .whenComplete((r, t) -> {
-                            if (t == null) {
-                                Response resp = Response.ok(r, mediaType).build();
-                                // make sure we avoid setting a null media type because that causes
-                                // an NPE further down
-                                if (resp.getMediaType() != null) {
-                                    ctx.setEntity(resp.getEntity(), null, resp.getMediaType());
+                if (mediaType != null) {
+                    // Write the pre-encoded chunks directly and avoid the String -> byte[] conversion
+                    ByteArrayOutputStream out = new ByteArrayOutputStream();
+                    MediaType utf8MediaType = mediaType.withCharset(StandardCharsets.UTF_8.name());
+                    rendering.writeTo(out)
+                            .whenComplete((r, t) -> {
+                                if (t == null) {
+                                    if (cacheKey != null) {
+                                        CachedResponse response = new CachedResponse(cachedData, out.toByteArray(),
+                                                utf8MediaType);
+                                        cache.put(cacheKey, response);
+                                        writeResponse(requestContext, ctx, response);
+                                    } else {
+                                        ctx.setEntity(out.toByteArray(), null, utf8MediaType);
+                                        ctx.setStatus(Response.Status.OK.getStatusCode());
+                                    }
+                                    ctx.resume();
+                                } else {
+                                    ctx.resume(t);
+                                }
+                            });
+                } else {
+                    rendering.getResultAsync()
+                            .whenComplete((r, t) -> {
+                                if (t == null) {
+                                    if (cacheKey != null) {
+                                        CachedResponse response = new CachedResponse(cachedData, r, null);
+                                        cache.put(cacheKey, response);
+                                        writeResponse(requestContext, ctx, response);
+                                    } else {
+                                        Response resp = Response.ok(r).build();
+                                        ctx.setEntity(resp.getEntity());
+                                        ctx.setStatus(resp.getStatus());
+                                    }
+                                    ctx.resume();
                                 } else {
-                                    ctx.setEntity(resp.getEntity());
+                                    ctx.resume(t);
                                 }
-                                ctx.setStatus(resp.getStatus());
-                                ctx.resume();
-                            } else {
-                                ctx.resume(t);
-                            }
-                        });
+                            });
+                }
             } catch (Throwable t) {
                 ctx.resume(t);
             }
         }
     }
+
+    private static void writeResponse(ContainerRequestContext requestContext, ContainerResponseContext responseContext,
+            CachedResponse response) {
+        responseContext.getHeaders().putSingle(HttpHeaders.ETAG, response.etag);
+        if (response.matches(requestContext.getHeaderString(HttpHeaders.IF_NONE_MATCH))) {
+            responseContext.setEntity(null);
+            responseContext.setStatus(Response.Status.NOT_MODIFIED.getStatusCode());
+        } else {
+            if (response.mediaType != null) {
+                responseContext.setEntity(response.entity, null, response.mediaType);
+            } else {
+                responseContext.setEntity(response.entity);
+            }
+            responseContext.setStatus(Response.Status.OK.getStatusCode());
+        }
+    }
+
 }
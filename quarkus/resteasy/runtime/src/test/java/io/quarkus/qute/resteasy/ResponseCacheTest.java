@@ -0,0 +1,109 @@
+package io.quarkus.qute.resteasy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.ws.rs.core.MediaType;
+
+import org.junit.jupiter.api.Test;
+
+import io.quarkus.qute.resteasy.ResponseCache.CachedResponse;
+import io.quarkus.qute.resteasy.ResponseCache.Key;
+
+public class ResponseCacheTest {
+
+    @Test
+    public void testSize() {
+        ResponseCache cache = new ResponseCache(10_000);
+        cache.put(key("foo"), new CachedResponse(null, new byte[100], MediaType.TEXT_HTML_TYPE));
+        assertEquals(ResponseCache.ENTRY_OVERHEAD + 100, cache.getSize());
+        // String entity weighs 2 bytes per char
+        cache.put(key("bar"), new CachedResponse(null, "bar", null));
+        assertEquals(2 * ResponseCache.ENTRY_OVERHEAD + 106, cache.getSize());
+        // Replaced
+        cache.put(key("foo"), new CachedResponse(null, new byte[50], MediaType.TEXT_HTML_TYPE));
+        assertEquals(2 * ResponseCache.ENTRY_OVERHEAD + 56, cache.getSize());
+        assertEquals(2, cache.getEntryCount());
+        // Larger than the cache
+        cache.put(key("baz"), new CachedResponse(null, new byte[10_000], MediaType.TEXT_HTML_TYPE));
+        assertNull(cache.get(key("baz"), null));
+        assertEquals(2, cache.getEntryCount());
+    }
+
+    @Test
+    public void testEvictionOrder() {
+        ResponseCache cache = new ResponseCache(3 * (ResponseCache.ENTRY_OVERHEAD + 10));
+        cache.put(key("alpha"), new CachedResponse(null, new byte[10], null));
+        cache.put(key("bravo"), new CachedResponse(null, new byte[10], null));
+        cache.put(key("charlie"), new CachedResponse(null, new byte[10], null));
+        // Alpha is the most recently used now
+        assertNotNull(cache.get(key("alpha"), null));
+        cache.put(key("delta"), new CachedResponse(null, new byte[10], null));
+        assertEquals(3, cache.getEntryCount());
+        assertNull(cache.get(key("bravo"), null));
+        assertNotNull(cache.get(key("alpha"), null));
+        assertNotNull(cache.get(key("charlie"), null));
+        assertNotNull(cache.get(key("delta"), null));
+    }
+
+    @Test
+    public void testEmptyResponsesBounded() {
+        ResponseCache cache = new ResponseCache(100 * ResponseCache.ENTRY_OVERHEAD);
+        for (int i = 0; i < 1000; i++) {
+            cache.put(key("empty" + i), new CachedResponse(null, "", null));
+        }
+        assertEquals(100, cache.getEntryCount());
+        assertEquals(100 * ResponseCache.ENTRY_OVERHEAD, cache.getSize());
+    }
+
+    @Test
+    public void testData() {
+        ResponseCache cache = new ResponseCache(ResponseCache.DEFAULT_MAXIMUM_SIZE);
+        List<String> data = new ArrayList<>();
+        data.add("foo");
+        Key key = new Key("1", null, data.hashCode());
+        CachedResponse response = new CachedResponse(data, "foo", null);
+        cache.put(key, response);
+        // The data is retained and counted
+        assertSame(data, response.data);
+        assertEquals(ResponseCache.ENTRY_OVERHEAD + ResponseCache.DATA_OVERHEAD + 6, cache.getSize());
+        assertSame(response, cache.get(key, data));
+        // Equal data
+        List<String> other = new ArrayList<>(data);
+        assertSame(response, cache.get(key, other));
+        other.add("bar");
+        assertNull(cache.get(key, other));
+        assertNull(cache.get(key, null));
+        assertEquals(1, cache.getEntryCount());
+    }
+
+    @Test
+    public void testEtag() {
+        CachedResponse foo = new CachedResponse(null, "foo", null);
+        CachedResponse fooBytes = new CachedResponse(null, "foo".getBytes(), MediaType.TEXT_PLAIN_TYPE);
+        CachedResponse bar = new CachedResponse(null, "bar", null);
+        assertTrue(foo.etag.startsWith("\"") && foo.etag.endsWith("\""), foo.etag);
+        assertEquals(foo.etag, fooBytes.etag);
+        assertNotEquals(foo.etag, bar.etag);
+
+        assertFalse(foo.matches(null));
+        assertTrue(foo.matches(foo.etag));
+        assertTrue(foo.matches("W/" + foo.etag));
+        assertTrue(foo.matches(bar.etag + ", " + foo.etag));
+        assertTrue(foo.matches("*"));
+        assertFalse(foo.matches(bar.etag));
+    }
+
+    private static Key key(String fingerprint) {
+        return new Key("1", MediaType.TEXT_HTML_TYPE, fingerprint);
+    }
+
+}
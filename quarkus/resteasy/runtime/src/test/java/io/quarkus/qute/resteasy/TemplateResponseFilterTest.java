@@ -0,0 +1,205 @@
+package io.quarkus.qute.resteasy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+
+import org.jboss.resteasy.core.interception.jaxrs.SuspendableContainerResponseContext;
+import org.junit.jupiter.api.Test;
+
+import io.quarkus.qute.Engine;
+import io.quarkus.qute.Template;
+import io.quarkus.qute.Template.Rendering;
+
+public class TemplateResponseFilterTest {
+
+    @Test
+    public void testResponseCache() throws IOException {
+        ResponseCache cache = new ResponseCache(ResponseCache.DEFAULT_MAXIMUM_SIZE);
+        TemplateResponseFilter filter = new TemplateResponseFilter(cache);
+        Template template = Engine.builder().addDefaultValueResolvers().build().parse("Hello {this}!");
+
+        // Miss - the response is rendered and cached
+        List<String> calls = new ArrayList<>();
+        Response response = new Response(rendering(template.render().setData("foo")
+                .setAttribute(TemplateResponseFilter.RESPONSE_CACHE, "v1"), calls));
+        filter.filter(request(null), response.proxy());
+        assertTrue(calls.contains("getResultAsync"), calls.toString());
+        assertTrue(response.resumed);
+        assertEquals(200, response.status);
+        assertEquals("Hello foo!", response.entity);
+        String etag = (String) response.headers.getFirst(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        assertEquals(1, cache.getEntryCount());
+
+        // Hit - the rendering is skipped
+        calls.clear();
+        response = new Response(rendering(template.render().setData("foo")
+                .setAttribute(TemplateResponseFilter.RESPONSE_CACHE, "v1"), calls));
+        filter.filter(request(null), response.proxy());
+        assertFalse(calls.contains("getResultAsync"), calls.toString());
+        assertFalse(response.suspended);
+        assertEquals(200, response.status);
+        assertEquals("Hello foo!", response.entity);
+        assertEquals(etag, response.headers.getFirst(HttpHeaders.ETAG));
+
+        // Hit and the client has the response already
+        calls.clear();
+        response = new Response(rendering(template.render().setData("foo")
+                .setAttribute(TemplateResponseFilter.RESPONSE_CACHE, "v1"), calls));
+        filter.filter(request(etag), response.proxy());
+        assertFalse(calls.contains("getResultAsync"), calls.toString());
+        assertEquals(304, response.status);
+        assertNull(response.entity);
+        assertEquals(etag, response.headers.getFirst(HttpHeaders.ETAG));
+
+        // Different fingerprint
+        calls.clear();
+        response = new Response(rendering(template.render().setData("bar")
+                .setAttribute(TemplateResponseFilter.RESPONSE_CACHE, "v2"), calls));
+        filter.filter(request(etag), response.proxy());
+        assertTrue(calls.contains("getResultAsync"), calls.toString());
+        assertEquals(200, response.status);
+        assertEquals("Hello bar!", response.entity);
+        assertEquals(2, cache.getEntryCount());
+    }
+
+    @Test
+    public void testResponseCacheData() throws IOException {
+        ResponseCache cache = new ResponseCache(ResponseCache.DEFAULT_MAXIMUM_SIZE);
+        TemplateResponseFilter filter = new TemplateResponseFilter(cache);
+        Template template = Engine.builder().addDefaultValueResolvers().build().parse("Hello {this}!");
+        for (int i = 0; i < 2; i++) {
+            // A new data object for each request
+            List<String> data = new ArrayList<>();
+            data.add("foo");
+            List<String> calls = new ArrayList<>();
+            Response response = new Response(rendering(template.render().setData(data)
+                    .setAttribute(TemplateResponseFilter.RESPONSE_CACHE, Boolean.TRUE), calls));
+            filter.filter(request(null), response.proxy());
+            // The second request is served from the cache
+            assertEquals(i == 0, calls.contains("getResultAsync"), calls.toString());
+            assertEquals(200, response.status);
+            assertEquals("Hello [foo]!", response.entity);
+            assertNotNull(response.headers.getFirst(HttpHeaders.ETAG));
+        }
+        assertEquals(1, cache.getEntryCount());
+    }
+
+    @Test
+    public void testResponseCacheUnknownData() throws IOException {
+        ResponseCache cache = new ResponseCache(ResponseCache.DEFAULT_MAXIMUM_SIZE);
+        TemplateResponseFilter filter = new TemplateResponseFilter(cache);
+        Template template = Engine.builder().addDefaultValueResolvers().build().parse("Hello {this}!");
+        Rendering delegate = template.render().setData("foo").setAttribute(TemplateResponseFilter.RESPONSE_CACHE,
+                Boolean.TRUE);
+        // E.g. an implementation that does not override the default method
+        Rendering rendering = (Rendering) Proxy.newProxyInstance(TemplateResponseFilterTest.class.getClassLoader(),
+                new Class<?>[] { Rendering.class }, (proxy, method, args) -> method.getName().equals("getData") ? null
+                        : method.invoke(delegate, args));
+        Response response = new Response(rendering);
+        filter.filter(request(null), response.proxy());
+        assertEquals("Hello foo!", response.entity);
+        assertEquals(0, cache.getEntryCount());
+    }
+
+    @Test
+    public void testResponseCacheDisabled() throws IOException {
+        ResponseCache cache = new ResponseCache(ResponseCache.DEFAULT_MAXIMUM_SIZE);
+        TemplateResponseFilter filter = new TemplateResponseFilter(cache);
+        Template template = Engine.builder().addDefaultValueResolvers().build().parse("Hello {this}!");
+        for (int i = 0; i < 2; i++) {
+            List<String> calls = new ArrayList<>();
+            Response response = new Response(rendering(template.render().setData("foo")
+                    .setAttribute(TemplateResponseFilter.RESPONSE_CACHE, Boolean.FALSE), calls));
+            filter.filter(request(null), response.proxy());
+            assertTrue(calls.contains("getResultAsync"), calls.toString());
+            assertEquals("Hello foo!", response.entity);
+            assertNull(response.headers.getFirst(HttpHeaders.ETAG));
+        }
+        assertEquals(0, cache.getEntryCount());
+    }
+
+    private static ContainerRequestContext request(String ifNoneMatch) {
+        return (ContainerRequestContext) Proxy.newProxyInstance(TemplateResponseFilterTest.class.getClassLoader(),
+                new Class<?>[] { ContainerRequestContext.class }, (proxy, method, args) -> {
+                    if (method.getName().equals("getHeaderString")) {
+                        return HttpHeaders.IF_NONE_MATCH.equals(args[0]) ? ifNoneMatch : null;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    /**
+     * Records the names of the invoked methods.
+     */
+    private static Rendering rendering(Rendering delegate, List<String> calls) {
+        return (Rendering) Proxy.newProxyInstance(TemplateResponseFilterTest.class.getClassLoader(),
+                new Class<?>[] { Rendering.class }, (proxy, method, args) -> {
+                    calls.add(method.getName());
+                    try {
+                        return method.invoke(delegate, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    static class Response {
+
+        final MultivaluedMap<String, Object> headers = new MultivaluedHashMap<>();
+        Object entity;
+        int status;
+        boolean suspended;
+        boolean resumed;
+
+        Response(Rendering rendering) {
+            this.entity = rendering;
+        }
+
+        SuspendableContainerResponseContext proxy() {
+            return (SuspendableContainerResponseContext) Proxy.newProxyInstance(
+                    TemplateResponseFilterTest.class.getClassLoader(),
+                    new Class<?>[] { SuspendableContainerResponseContext.class }, (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "getEntity":
+                                return entity;
+                            case "setEntity":
+                                entity = args[0];
+                                return null;
+                            case "setStatus":
+                                status = (int) args[0];
+                                return null;
+                            case "getHeaders":
+                                return headers;
+                            case "suspend":
+                                suspended = true;
+                                return null;
+                            case "resume":
+                                if (args != null) {
+                                    throw new IllegalStateException((Throwable) args[0]);
+                                }
+                                resumed = true;
+                                return null;
+                            default:
+                                return null;
+                        }
+                    });
+        }
+
+    }
+
+}